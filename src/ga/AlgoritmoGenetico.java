@@ -1,8 +1,15 @@
 package ga;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Clase AlgoritmoGenetico
@@ -35,6 +42,22 @@ public class AlgoritmoGenetico<A> {
 	protected Individuo<A> cromosomaSol; // cromosoma correspondiente al mejor individuo encontrado
 	protected int iterations; // iteraciones del algoritmo (generaciones)
 	protected long timeInMSec; // tiempo consumido por el algoritmo
+	protected long evaluaciones; // individuos evaluados (decodificados) en la ultima ejecucion
+	protected GoalTest<Individuo<A>> motivoParada; // criterio de parada que detuvo la ultima ejecucion
+	protected CacheFitness cache; // cache de evaluaciones (null: se decodifica siempre)
+	// evaluacion en paralelo
+	protected ExecutorService ejecutor; // ejecutor para evaluar el fitness (null: evaluacion secuencial)
+	protected int paralelismo = 1; // numero de trozos en que se reparte la poblacion al evaluarla
+	protected boolean criaParalela; // si se generan tambien los hijos en paralelo (con el mismo ejecutor)
+	protected SplittableRandom generadorCria = new SplittableRandom(); // raiz de los generadores de cada hilo
+	// mejora (busqueda local) por lotes
+	protected OpMejora<A> opMejora; // operador de mejora (null: no se mejora nada)
+	protected boolean mejoraInicial; // si se mejora la poblacion inicial
+	protected boolean mejoraHijos; // si se mejoran los hijos de cada generacion (GA memetico)
+	// instrumentacion
+	protected List<OyenteGA> oyentes = new ArrayList<>(); // reciben las medidas de cada generacion
+	protected EstadisticasGeneracion medida; // medidas de la generacion en curso (null: no se mide)
+	protected int generacionActual; // generaciones ejecutadas desde la poblacion inicial
 
 	// CONSTRUCTOR
 	public AlgoritmoGenetico(int individualLength, Collection<A> finiteAlphabet,
@@ -76,78 +99,307 @@ public class AlgoritmoGenetico<A> {
 	public Individuo<A> lanzaGA(OpGeneracion<A> opG, final int maxIterations,
 			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel, OpDecodificacion<A> opDecod,
 			OpReemplazo<A> opReemp) {
+		return lanzaGA(opG, new GoalTestMaxIter<A>(this, maxIterations), opCross, opM, opSel, opDecod, opReemp);
+	}
+
+	/**
+	 * lanzaGA()
+	 * version 2
+	 * Metodo que lanza una ejecucion del GA y la detiene cuando se cumple el
+	 * criterio de parada (por ejemplo, un GoalTestCompuesto con un maximo de
+	 * iteraciones, un tiempo maximo, un numero de iteraciones sin mejora, un
+	 * fitness objetivo o una cancelacion externa). El criterio se comprueba tras
+	 * evaluar la poblacion inicial y tras cada generacion, con el mejor individuo
+	 * encontrado como estado; getIterations() y getTimeInMilliseconds() se
+	 * actualizan antes de cada comprobacion. Si hay oyentes (ver addOyente), al
+	 * terminar cada generacion reciben el tiempo de cada fase y otras medidas.
+	 * 
+	 * @param opG       un OpGeneracion (para generar la poblacion inicial)
+	 * @param goalTest  el criterio de parada
+	 * @param opCross   un opCruce (para realizar los cruces)
+	 * @param opM       un OpMutacion (para realizar la mutacion)
+	 * @param opSel     un OpSeleccion
+	 * @param opDecod   un OpDecodificacion
+	 * @param opReemp   un OpReemplazo
+	 * @return el mejor individuo encontrado (ver getMotivoParada() para saber
+	 *         por que se detuvo)
+	 */
+	public Individuo<A> lanzaGA(OpGeneracion<A> opG, GoalTest<Individuo<A>> goalTest,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel, OpDecodificacion<A> opDecod,
+			OpReemplazo<A> opReemp) {
 
 		long startTime = System.currentTimeMillis(); // Start timing
+		this.iterations = 0;
+		this.timeInMSec = 0;
+		this.motivoParada = null;
+
+		// Generate and evaluate the initial population
+		List<Individuo<A>> population = iniciaPoblacion(opG, opDecod);
+		this.timeInMSec = System.currentTimeMillis() - startTime;
+
+		// Main GA loop
+		while (!goalTest.test(this.cromosomaSol)) {
+			population = siguienteGeneracion(population, opCross, opM, opSel, opDecod, opReemp);
+			this.iterations++;
+			this.timeInMSec = System.currentTimeMillis() - startTime;
+		}
+		this.motivoParada = (goalTest instanceof GoalTestCompuesto
+				? ((GoalTestCompuesto<A>) goalTest).getCumplido()
+				: goalTest);
+
+		// Update metrics
+		updateMetrics(population, this.iterations, System.currentTimeMillis() - startTime);
+
+		return this.cromosomaSol;
+	}
+
+	/**
+	 * lanzaGAEstacionario()
+	 * Metodo que lanza una ejecucion del GA estacionario (steady-state): en cada
+	 * paso se generan solo un par de hijos (seleccion, cruce y mutacion como en
+	 * lanzaGA), se evaluan y cada uno sustituye en el sitio a un individuo peor de
+	 * la poblacion segun el operador de reemplazo. No se crean poblaciones
+	 * nuevas, asi que el progreso se mide en evaluaciones y no en generaciones.
+	 * 
+	 * opSel.preparaGeneracion se llama una vez cada tamPob/2 pasos (tantos hijos
+	 * como individuos), no en cada paso: los operadores con tablas
+	 * (OpSelRuletaAlias, OpSelRangoLineal) seleccionan entre medias con
+	 * probabilidades algo desfasadas respecto a la poblacion, que va cambiando en
+	 * el sitio. Los que no guardan nada de la poblacion, como OpSelTorneo, no se
+	 * ven afectados y son los mas adecuados aqui.
+	 * 
+	 * @param opG             un OpGeneracion (para generar la poblacion inicial)
+	 * @param maxEvaluaciones el numero maximo de individuos evaluados, incluida la
+	 *                        poblacion inicial (criterio de parada); los hijos que
+	 *                        llegan ya evaluados (copias de los padres, mutaciones
+	 *                        con calculo incremental del coste, mejora local)
+	 *                        tambien cuentan
+	 * @param opCross         un OpCruce
+	 * @param opM             un OpMutacion
+	 * @param opSel           un OpSeleccion
+	 * @param opDecod         un OpDecodificacion
+	 * @param opReemp         un OpReempEstacionario (decide a quien sustituye
+	 *                        cada hijo)
+	 * @return el mejor individuo encontrado
+	 */
+	public Individuo<A> lanzaGAEstacionario(OpGeneracion<A> opG, final long maxEvaluaciones,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel, OpDecodificacion<A> opDecod,
+			OpReempEstacionario<A> opReemp) {
+		return lanzaGAEstacionario(opG, maxEvaluaciones, null, opCross, opM, opSel, opDecod, opReemp);
+	}
+
+	/**
+	 * lanzaGAEstacionario()
+	 * version 2
+	 * Como la version 1, pero ademas se detiene cuando se cumple el criterio de
+	 * parada, que se comprueba tras evaluar la poblacion inicial y tras cada paso
+	 * con el mejor individuo encontrado como estado (getIterations() es el numero
+	 * de pasos y getTimeInMilliseconds() se actualiza antes de cada comprobacion).
+	 * 
+	 * @param opG             un OpGeneracion (para generar la poblacion inicial)
+	 * @param maxEvaluaciones el numero maximo de individuos evaluados o producidos
+	 *                        ya evaluados, incluida la poblacion inicial
+	 * @param goalTest        el criterio de parada (null: solo maxEvaluaciones)
+	 * @param opCross         un OpCruce
+	 * @param opM             un OpMutacion
+	 * @param opSel           un OpSeleccion
+	 * @param opDecod         un OpDecodificacion
+	 * @param opReemp         un OpReempEstacionario (decide a quien sustituye
+	 *                        cada hijo)
+	 * @return el mejor individuo encontrado (getMotivoParada() es el criterio
+	 *         que lo ha detenido, o null si se ha agotado maxEvaluaciones)
+	 */
+	public Individuo<A> lanzaGAEstacionario(OpGeneracion<A> opG, final long maxEvaluaciones,
+			GoalTest<Individuo<A>> goalTest, OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel,
+			OpDecodificacion<A> opDecod, OpReempEstacionario<A> opReemp) {
+
+		long startTime = System.currentTimeMillis(); // Start timing
+		this.iterations = 0;
+		this.timeInMSec = 0;
+		this.motivoParada = null;
+
+		// Generate and evaluate the initial population
+		List<Individuo<A>> population = iniciaPoblacion(opG, opDecod);
+		this.timeInMSec = System.currentTimeMillis() - startTime;
+
+		// Main loop: one pair of children per step
+		int pasos = 0;
+		long yaEvaluados = 0; // hijos que llegan evaluados: no se decodifican pero gastan presupuesto
+		int pasosPorGeneracion = Math.max(1, population.size() / 2); // pasos que crian tantos hijos como individuos
+		boolean cumplido = false;
+		while (evaluaciones + yaEvaluados < maxEvaluaciones
+				&& !(cumplido = (goalTest != null && goalTest.test(this.cromosomaSol)))) {
+			if (pasos % pasosPorGeneracion == 0) {
+				opSel.preparaGeneracion(population); // tablas algo desfasadas entre medias
+			}
+			List<Individuo<A>> hijos = generaDescendencia(population, 2, opCross, opM, opSel);
+			if (opMejora != null && mejoraHijos) {
+				hijos = opMejora.apply(hijos);
+			}
+			for (Individuo<A> hijo : hijos) {
+				if (!hijo.isEvaluado()) {
+					hijo.setFitness(evalua(hijo, opDecod));
+					evaluaciones++;
+				} else {
+					yaEvaluados++;
+				}
+				if (opReemp.apply(population, hijo) >= 0 && hijo.getFitness() > this.cromosomaSol.getFitness()) {
+					this.cromosomaSol = hijo.copia();
+				}
+			}
+			pasos++;
+			this.iterations = pasos;
+			this.timeInMSec = System.currentTimeMillis() - startTime;
+		}
+		if (cumplido) {
+			this.motivoParada = (goalTest instanceof GoalTestCompuesto
+					? ((GoalTestCompuesto<A>) goalTest).getCumplido()
+					: goalTest);
+		}
+
+		// Update metrics
+		updateMetrics(population, pasos, System.currentTimeMillis() - startTime);
+
+		return this.cromosomaSol;
+	}
+
+	/**
+	 * iniciaPoblacion()
+	 * Metodo que genera, valida y evalua la poblacion inicial, y toma su mejor
+	 * individuo como mejor solucion encontrada hasta el momento
+	 * 
+	 * @param opG     el operador de generacion de individuos
+	 * @param opDecod el operador de decodificacion
+	 * @return la poblacion inicial (evaluada)
+	 */
+	protected List<Individuo<A>> iniciaPoblacion(OpGeneracion<A> opG, OpDecodificacion<A> opDecod) {
+		this.generacionActual = 0;
+		EstadisticasGeneracion m = iniciaMedida(0);
+		long t0 = 0L, b0 = 0L;
+		if (m != null) {
+			t0 = System.nanoTime();
+			b0 = EstadisticasGeneracion.bytesHilo();
+		}
 
 		// Generate initial population
 		List<Individuo<A>> population = generateInitPopulation(opG, this.popSize);
 		validatePopulation(population);
+		if (opMejora != null && mejoraInicial) {
+			population = new ArrayList<>(opMejora.apply(population));
+		}
+		long t1 = (m != null ? System.nanoTime() : 0L);
 
 		// Calculate initial fitness for all individuals
+		this.evaluaciones = 0;
 		updateFitness(population, opDecod);
 
 		// Track best individual overall
-		this.cromosomaSol = retrieveBestIndividual(population);
-		double bestFitnessSoFar = this.cromosomaSol.getFitness();
+		this.cromosomaSol = retrieveBestIndividual(population).copia();
+		if (m != null) {
+			m.nanosCria = t1 - t0;
+			m.nanosEvaluacion = System.nanoTime() - t1;
+			m.individuosCreados = population.size();
+			terminaMedida(m, population, t0, b0, evaluaciones);
+		}
+		return population;
+	}
 
-		// Main GA loop
-		int currentIteration = 0;
-		while (currentIteration < maxIterations) {
-			List<Individuo<A>> offspring = new ArrayList<>();
-
-			// Generate offspring through selection and crossover until we have enough
-			while (offspring.size() < popSize) {
-				// Create pairs of parents through multiple selections
-				Individuo<A> parent1 = opSel.apply(population);
-				Individuo<A> parent2 = opSel.apply(population);
-
-				if (parent1 != null && parent2 != null) {
-					// Apply crossover with probability crossoverProbability
-					if (Math.random() < crossoverProbability) {
-						List<Individuo<A>> children = opCross.apply(2, parent1, parent2);
-						if (children != null) {
-							// Apply mutation to each child with probability mutationProbability
-							for (Individuo<A> child : children) {
-								if (Math.random() < mutationProbability) {
-									opM.apply(child);
-								}
-							}
-							offspring.addAll(children);
-						}
-					} else {
-						// If no crossover, copy parents
-						offspring.add(new Individuo<>(parent1.getRepresentation()));
-						offspring.add(new Individuo<>(parent2.getRepresentation()));
-					}
-				}
-			}
+	/**
+	 * siguienteGeneracion()
+	 * Metodo que ejecuta una generacion del GA: genera y evalua los hijos, aplica
+	 * el reemplazo y actualiza la mejor solucion encontrada (y, si hay oyentes,
+	 * mide cada fase y les pasa las medidas)
+	 * 
+	 * @param population la poblacion actual (evaluada)
+	 * @param opCross    el operador de cruce
+	 * @param opM        el operador de mutacion
+	 * @param opSel      el operador de seleccion
+	 * @param opDecod    el operador de decodificacion
+	 * @param opReemp    el operador de reemplazo
+	 * @return la nueva poblacion (evaluada)
+	 */
+	protected List<Individuo<A>> siguienteGeneracion(List<Individuo<A>> population, OpCruce<A> opCross,
+			OpMutacion<A> opM, OpSeleccion<A> opSel, OpDecodificacion<A> opDecod, OpReemplazo<A> opReemp) {
+		this.generacionActual++;
+		EstadisticasGeneracion m = iniciaMedida(generacionActual);
+		long t0 = 0L, b0 = 0L, evaluacionesAntes = evaluaciones;
+		if (m != null) {
+			t0 = System.nanoTime();
+			b0 = EstadisticasGeneracion.bytesHilo();
+		}
 
-			// Trim offspring to population size if necessary
-			if (offspring.size() > popSize) {
-				offspring = offspring.subList(0, popSize);
-			}
+		// Let the selection operator precompute its tables for this generation
+		opSel.preparaGeneracion(population);
+		if (m != null) {
+			m.nanosSeleccion = System.nanoTime() - t0;
+		}
 
-			// Update fitness of offspring
-			updateFitness(offspring, opDecod);
+		// Generate offspring through selection, crossover and mutation
+		List<Individuo<A>> offspring = (criaParalela && ejecutor != null && paralelismo > 1)
+				? criaEnParalelo(population, popSize, opCross, opM, opSel)
+				: generaDescendencia(population, popSize, opCross, opM, opSel, m);
+		if (opMejora != null && mejoraHijos) {
+			offspring = new ArrayList<>(opMejora.apply(offspring));
+		}
+		long t1 = (m != null ? System.nanoTime() : 0L);
 
-			// Apply replacement strategy to get new population
-			population = opReemp.apply(population, offspring);
+		// Update fitness of offspring
+		updateFitness(offspring, opDecod);
+		long t2 = (m != null ? System.nanoTime() : 0L);
 
-			// Update best individual if necessary
-			Individuo<A> currentBest = retrieveBestIndividual(population);
-			if (currentBest.getFitness() > bestFitnessSoFar) {
-				this.cromosomaSol = new Individuo<>(currentBest.getRepresentation());
-				this.cromosomaSol.setFitness(currentBest.getFitness());
-				bestFitnessSoFar = currentBest.getFitness();
-			}
+		// Apply replacement strategy to get new population
+		population = opReemp.apply(population, offspring);
+		long t3 = (m != null ? System.nanoTime() : 0L);
 
-			currentIteration++;
+		// Update best individual if necessary (the replacement operator may already know it)
+		Individuo<A> currentBest = opReemp.getMejorPoblacion();
+		if (currentBest == null) {
+			currentBest = retrieveBestIndividual(population);
+		}
+		if (currentBest.getFitness() > this.cromosomaSol.getFitness()) {
+			this.cromosomaSol = currentBest.copia();
 		}
+		if (m != null) {
+			m.nanosCria = t1 - t0;
+			m.nanosEvaluacion = t2 - t1;
+			m.nanosReemplazo = t3 - t2;
+			terminaMedida(m, population, t0, b0, evaluaciones - evaluacionesAntes);
+		}
+		return population;
+	}
 
-		// Update metrics
-		updateMetrics(population, currentIteration, System.currentTimeMillis() - startTime);
+	/**
+	 * iniciaMedida()
+	 * Empieza a medir una generacion si hay oyentes
+	 * 
+	 * @param generacion el numero de generacion
+	 * @return las medidas de la generacion (o null si no hay oyentes)
+	 */
+	private EstadisticasGeneracion iniciaMedida(int generacion) {
+		this.medida = (oyentes.isEmpty() ? null : new EstadisticasGeneracion(generacion));
+		return this.medida;
+	}
 
-		return this.cromosomaSol;
+	/**
+	 * terminaMedida()
+	 * Completa las medidas de una generacion y se las pasa a los oyentes
+	 * 
+	 * @param m           las medidas de la generacion
+	 * @param population  la poblacion resultante
+	 * @param t0          instante (nanoTime) en que empezo la generacion
+	 * @param b0          bytes reservados por este hilo al empezar la generacion
+	 * @param evaluadas   individuos evaluados en la generacion
+	 */
+	private void terminaMedida(EstadisticasGeneracion m, List<Individuo<A>> population, long t0, long b0,
+			long evaluadas) {
+		m.evaluaciones = evaluadas;
+		m.calculaFitness(population);
+		m.sumaBytes(EstadisticasGeneracion.bytesHilo() - b0);
+		m.nanosTotal = System.nanoTime() - t0;
+		this.medida = null;
+		for (OyenteGA o : oyentes) {
+			o.generacionTerminada(m);
+		}
 	}
 
 	// METODOS AUXILIARES
@@ -168,9 +420,207 @@ public class AlgoritmoGenetico<A> {
 		return initPopulation;
 	}
 
+	/**
+	 * generaDescendencia()
+	 * Metodo que genera hijos a partir de la poblacion: selecciona parejas de
+	 * padres, los cruza con probabilidad crossoverProbability (si no, los copia) y
+	 * muta cada hijo con probabilidad mutationProbability. Si el operador de
+	 * seleccion soporta lotes, todos los padres se eligen de una vez con
+	 * seleccionaLote; si no, uno a uno con apply
+	 * 
+	 * @param population la poblacion actual
+	 * @param n          el numero de hijos a generar
+	 * @param opCross    el operador de cruce
+	 * @param opM        el operador de mutacion
+	 * @param opSel      el operador de seleccion
+	 * @return exactamente n hijos (las copias de padres y los hijos mutados con
+	 *         calculo incremental del coste ya vienen evaluados)
+	 */
+	protected List<Individuo<A>> generaDescendencia(List<Individuo<A>> population, int n,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel) {
+		return generaDescendencia(population, n, opCross, opM, opSel, null);
+	}
+
+	/**
+	 * generaDescendencia()
+	 * Como generaDescendencia(population, n, opCross, opM, opSel), acumulando
+	 * ademas en m el tiempo de seleccion, cruce y mutacion y los individuos
+	 * creados (si m es null no se mide nada)
+	 * 
+	 * @param m donde se acumulan las medidas (o null)
+	 */
+	protected List<Individuo<A>> generaDescendencia(List<Individuo<A>> population, int n,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel, EstadisticasGeneracion m) {
+		int[] padres = null;
+		if (opSel.soportaLote()) {
+			long t = (m != null ? System.nanoTime() : 0L);
+			padres = opSel.seleccionaLote(population, numPadres(n));
+			if (m != null) {
+				m.nanosSeleccion += System.nanoTime() - t;
+			}
+		}
+		return generaDescendencia(population, n, opCross, opM, opSel, padres, m);
+	}
+
+	/**
+	 * generaDescendencia()
+	 * Genera n hijos cruzando por parejas los padres ya seleccionados (en el
+	 * orden dado) o, si padres es null, seleccionandolos uno a uno con apply
+	 * 
+	 * @param padres indices en population de los padres (o null)
+	 * @param m      donde se acumulan las medidas (o null)
+	 */
+	protected List<Individuo<A>> generaDescendencia(List<Individuo<A>> population, int n,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel, int[] padres, EstadisticasGeneracion m) {
+		List<Individuo<A>> offspring = new ArrayList<>(n + 1);
+		int siguiente = 0; // siguiente padre del lote
+
+		// Generate offspring through selection and crossover until we have enough
+		while (offspring.size() < n) {
+			long t = (m != null ? System.nanoTime() : 0L);
+			// Create pairs of parents through multiple selections (or take them from the batch)
+			Individuo<A> parent1, parent2;
+			if (padres != null) {
+				parent1 = population.get(padres[siguiente++ % padres.length]);
+				parent2 = population.get(padres[siguiente++ % padres.length]);
+			} else {
+				parent1 = opSel.apply(population);
+				parent2 = opSel.apply(population);
+			}
+			if (m != null) {
+				long ahora = System.nanoTime();
+				m.nanosSeleccion += ahora - t;
+				t = ahora;
+			}
+
+			if (parent1 != null && parent2 != null) {
+				// Apply crossover with probability crossoverProbability
+				List<Individuo<A>> children;
+				if (Util.randomDouble() < crossoverProbability) {
+					children = opCross.apply(2, parent1, parent2);
+				} else {
+					// If no crossover, copy parents (they keep their fitness)
+					children = new ArrayList<>(2);
+					children.add(parent1.copia());
+					children.add(parent2.copia());
+				}
+				if (m != null) {
+					long ahora = System.nanoTime();
+					m.nanosCruce += ahora - t;
+					t = ahora;
+				}
+				if (children != null) {
+					// Apply mutation to each child with probability mutationProbability
+					// (los individuos no se modifican: el operador devuelve el hijo mutado,
+					// que puede venir ya evaluado si el operador calcula la variacion del coste)
+					int mutados = 0;
+					for (int k = 0; k < children.size(); k++) {
+						if (Util.randomDouble() < mutationProbability) {
+							children.set(k, opM.apply(children.get(k)));
+							mutados++;
+						}
+					}
+					if (m != null) {
+						m.nanosMutacion += System.nanoTime() - t;
+						m.individuosCreados += children.size() + mutados;
+					}
+					offspring.addAll(children);
+				}
+			}
+		}
+
+		// Trim offspring to the requested size if necessary (pairs may add one extra child)
+		while (offspring.size() > n) {
+			offspring.remove(offspring.size() - 1);
+		}
+		return offspring;
+	}
+
+	/**
+	 * @return el numero de padres necesario para n hijos (se cruzan por parejas)
+	 */
+	private static int numPadres(int n) {
+		return n + (n & 1);
+	}
+
+	/**
+	 * criaEnParalelo()
+	 * Metodo que reparte la cuota de hijos entre tantas tareas como indique el
+	 * paralelismo. Cada tarea tiene su propio generador aleatorio (obtenido con
+	 * split() del generador raiz, en este hilo) y su propia lista de hijos, asi
+	 * que no se comparte nada mutable mientras se cria; al final se concatenan
+	 * las listas en orden. Los operadores de seleccion, cruce y mutacion tienen
+	 * que poder usarse desde varios hilos a la vez. Si se esta midiendo la
+	 * generacion, cada tarea acumula sus medidas aparte y las suma al final. Si
+	 * el operador de seleccion soporta lotes, todos los padres se eligen antes en
+	 * este hilo y cada tarea recibe su parte.
+	 * 
+	 * @param population la poblacion actual
+	 * @param n          el numero de hijos a generar
+	 * @param opCross    el operador de cruce
+	 * @param opM        el operador de mutacion
+	 * @param opSel      el operador de seleccion
+	 * @return exactamente n hijos
+	 */
+	protected List<Individuo<A>> criaEnParalelo(List<Individuo<A>> population, int n,
+			OpCruce<A> opCross, OpMutacion<A> opM, OpSeleccion<A> opSel) {
+		int trozos = Math.min(paralelismo, n);
+		final EstadisticasGeneracion m = this.medida;
+		int[] cuotas = new int[trozos];
+		int totalPadres = 0;
+		for (int t = 0; t < trozos; t++) {
+			cuotas[t] = (int) ((long) n * (t + 1) / trozos) - (int) ((long) n * t / trozos);
+			totalPadres += numPadres(cuotas[t]);
+		}
+		int[] lote = null;
+		if (opSel.soportaLote()) {
+			long t0 = (m != null ? System.nanoTime() : 0L);
+			lote = opSel.seleccionaLote(population, totalPadres);
+			if (m != null) {
+				m.nanosSeleccion += System.nanoTime() - t0;
+			}
+		}
+		List<Callable<List<Individuo<A>>>> tareas = new ArrayList<>(trozos);
+		for (int t = 0, desde = 0; t < trozos; t++) {
+			final int cuota = cuotas[t];
+			final int[] padres = (lote != null ? Arrays.copyOfRange(lote, desde, desde + numPadres(cuota)) : null);
+			desde += numPadres(cuota);
+			final SplittableRandom generador = generadorCria.split();
+			tareas.add(() -> {
+				SplittableRandom anterior = Util.getGeneradorHilo();
+				Util.setGeneradorHilo(generador);
+				EstadisticasGeneracion parcial = (m != null ? new EstadisticasGeneracion(m.generacion) : null);
+				long b0 = (m != null ? EstadisticasGeneracion.bytesHilo() : 0L);
+				try {
+					return generaDescendencia(population, cuota, opCross, opM, opSel, padres, parcial);
+				} finally {
+					Util.setGeneradorHilo(anterior);
+					if (m != null) {
+						parcial.sumaBytes(EstadisticasGeneracion.bytesHilo() - b0);
+						m.suma(parcial);
+					}
+				}
+			});
+		}
+		List<Individuo<A>> offspring = new ArrayList<>(n);
+		try {
+			for (Future<List<Individuo<A>>> f : ejecutor.invokeAll(tareas)) {
+				offspring.addAll(f.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Generacion de hijos interrumpida", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Error al generar los hijos", e.getCause());
+		}
+		return offspring;
+	}
+
 	/**
 	 * updateFitness
-	 * Metodo para actualizar el fitness de los individuos de una poblacion
+	 * Metodo para actualizar el fitness de los individuos de una poblacion (los que
+	 * ya estan evaluados, como las copias de padres o los hijos mutados con calculo
+	 * incremental del coste, no se vuelven a decodificar)
 	 * 
 	 * @param population la poblacion
 	 * @param fitness    la funcion de fitness
@@ -178,13 +628,82 @@ public class AlgoritmoGenetico<A> {
 	 */
 	public double updateFitness(List<Individuo<A>> population, OpDecodificacion<A> opDecod) {
 		// Determine all of the fitness values
-		double avFitness = 0.0;
+		int pendientes = 0;
 		for (int i = 0; i < population.size(); i++) {
-			Individuo<A> ind = population.get(i);
-			ind.setFitness(opDecod.apply(population.get(i)).getFitness());
-			avFitness = avFitness + ind.getFitness();
+			if (!population.get(i).isEvaluado()) {
+				pendientes++;
+			}
+		}
+		if (ejecutor != null && paralelismo > 1 && pendientes > 1) {
+			evaluaEnParalelo(population, opDecod);
+		} else if (pendientes > 0) {
+			for (int i = 0; i < population.size(); i++) {
+				Individuo<A> ind = population.get(i);
+				if (!ind.isEvaluado()) {
+					ind.setFitness(evalua(ind, opDecod));
+				}
+			}
+		}
+		evaluaciones += pendientes;
+		// la media se acumula siempre en el mismo orden, sea cual sea el modo de evaluacion
+		return computeAverageFitness(population);
+	}
+
+	/**
+	 * evaluaEnParalelo
+	 * Metodo que reparte la poblacion en tantos trozos contiguos como indique el
+	 * paralelismo y evalua cada trozo en una tarea del ejecutor. Cada individuo
+	 * pertenece a un solo trozo, asi que el decodificador solo tiene que poder
+	 * usarse desde varios hilos a la vez (sin estado compartido mutable).
+	 * 
+	 * @param population la poblacion
+	 * @param opDecod    el operador de decodificacion
+	 */
+	protected void evaluaEnParalelo(List<Individuo<A>> population, OpDecodificacion<A> opDecod) {
+		int n = population.size();
+		int trozos = Math.min(paralelismo, n);
+		final EstadisticasGeneracion m = this.medida;
+		List<Callable<Void>> tareas = new ArrayList<>(trozos);
+		for (int t = 0; t < trozos; t++) {
+			final int ini = (int) ((long) n * t / trozos);
+			final int fin = (int) ((long) n * (t + 1) / trozos);
+			tareas.add(() -> {
+				long b0 = (m != null ? EstadisticasGeneracion.bytesHilo() : 0L);
+				for (int i = ini; i < fin; i++) {
+					Individuo<A> ind = population.get(i);
+					if (!ind.isEvaluado()) {
+						ind.setFitness(evalua(ind, opDecod));
+					}
+				}
+				if (m != null) {
+					m.sumaBytes(EstadisticasGeneracion.bytesHilo() - b0);
+				}
+				return null;
+			});
+		}
+		try {
+			for (Future<Void> f : ejecutor.invokeAll(tareas)) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Evaluacion del fitness interrumpida", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Error al evaluar el fitness", e.getCause());
 		}
-		return (population.size() > 0 ? avFitness / population.size() : 0.0);
+	}
+
+	/**
+	 * evalua
+	 * Metodo para calcular el fitness de un individuo: lo busca antes en la cache
+	 * de evaluaciones (si hay) y solo si no esta lo decodifica
+	 * 
+	 * @param ind     el individuo
+	 * @param opDecod el operador de decodificacion
+	 * @return el fitness del individuo
+	 */
+	protected double evalua(Individuo<A> ind, OpDecodificacion<A> opDecod) {
+		return (cache != null ? cache.fitness(ind, opDecod) : opDecod.fitness(ind));
 	}
 
 	/**
@@ -223,6 +742,117 @@ public class AlgoritmoGenetico<A> {
 		return popBestIndividual;
 	}
 
+	/**
+	 * setEvaluacionParalela
+	 * Activa la evaluacion del fitness en paralelo sobre un ForkJoinPool propio
+	 * 
+	 * @param paralelismo el numero de hilos (1 o menos: evaluacion secuencial)
+	 */
+	public void setEvaluacionParalela(int paralelismo) {
+		setEvaluacionParalela(paralelismo > 1 ? new ForkJoinPool(paralelismo) : null, paralelismo);
+	}
+
+	/**
+	 * setEvaluacionParalela
+	 * Activa la evaluacion del fitness en paralelo sobre un ejecutor dado (que no
+	 * se cierra al terminar el GA)
+	 * 
+	 * @param ejecutor    el ejecutor (null: evaluacion secuencial)
+	 * @param paralelismo el numero de trozos en que se reparte la poblacion
+	 */
+	public void setEvaluacionParalela(ExecutorService ejecutor, int paralelismo) {
+		this.ejecutor = ejecutor;
+		this.paralelismo = Math.max(1, paralelismo);
+	}
+
+	/**
+	 * setCacheFitness
+	 * Asigna una cache de evaluaciones que se consulta antes de decodificar cada
+	 * individuo (solo para cromosomas que son permutaciones de enteros)
+	 * 
+	 * @param cache la cache (null: sin cache)
+	 */
+	public void setCacheFitness(CacheFitness cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * 
+	 * @return la cache de evaluaciones (o null)
+	 */
+	public CacheFitness getCacheFitness() {
+		return cache;
+	}
+
+	/**
+	 * setCriaParalela
+	 * Activa o desactiva la generacion de hijos en paralelo. Usa el mismo
+	 * ejecutor y paralelismo que la evaluacion (ver setEvaluacionParalela), asi
+	 * que solo tiene efecto si esta tambien esta activada.
+	 * 
+	 * @param criaParalela true para repartir la cuota de hijos entre hilos
+	 */
+	public void setCriaParalela(boolean criaParalela) {
+		this.criaParalela = criaParalela;
+	}
+
+	/**
+	 * setMejora
+	 * Asigna un operador que mejora por lotes (por ejemplo, con busqueda local en
+	 * paralelo) la poblacion inicial y/o los hijos de cada generacion, antes de
+	 * evaluarlos. Los individuos que el operador devuelve ya evaluados no se
+	 * vuelven a decodificar.
+	 * 
+	 * @param opMejora el operador (null: sin mejora)
+	 * @param inicial  true para mejorar la poblacion inicial
+	 * @param hijos    true para mejorar los hijos de cada generacion
+	 */
+	public void setMejora(OpMejora<A> opMejora, boolean inicial, boolean hijos) {
+		this.opMejora = opMejora;
+		this.mejoraInicial = inicial;
+		this.mejoraHijos = hijos;
+	}
+
+	/**
+	 * setSemilla
+	 * Fija la semilla de la que se derivan los generadores aleatorios de los
+	 * hilos que crian en paralelo
+	 * 
+	 * @param semilla la semilla
+	 */
+	public void setSemilla(long semilla) {
+		this.generadorCria = new SplittableRandom(semilla);
+	}
+
+	/**
+	 * addOyente
+	 * Aniade un oyente que recibira las medidas de cada generacion (tiempo de
+	 * cada fase en nanosegundos, evaluaciones, fitness y memoria). Sin oyentes no
+	 * se toma ninguna medida.
+	 * 
+	 * @param oyente el oyente (por ejemplo, un PerfilGA)
+	 */
+	public void addOyente(OyenteGA oyente) {
+		oyentes.add(oyente);
+	}
+
+	/**
+	 * removeOyente
+	 * 
+	 * @param oyente el oyente que deja de recibir las medidas
+	 */
+	public void removeOyente(OyenteGA oyente) {
+		oyentes.remove(oyente);
+	}
+
+	/**
+	 * 
+	 * @return el numero de trozos en que se reparte la poblacion al evaluarla
+	 */
+	public int getParalelismo() {
+		return (ejecutor != null ? paralelismo : 1);
+	}
+
 	/**
 	 * clearInstrumentation
 	 * Sets the population size and number of iterations to zero.
@@ -249,6 +879,28 @@ public class AlgoritmoGenetico<A> {
 		return iterations;
 	}
 
+	/**
+	 * Returns the stop condition that ended the last run of lanzaGA or
+	 * lanzaGAEstacionario (if it was a
+	 * GoalTestCompuesto, the condition inside it that was satisfied).
+	 * 
+	 * @return the goal test that stopped the algorithm, or null.
+	 */
+	public GoalTest<Individuo<A>> getMotivoParada() {
+		return motivoParada;
+	}
+
+	/**
+	 * Returns the number of individuals evaluated (decoded, or looked up in the
+	 * cache) in the last run; individuals that were already evaluated are not
+	 * counted.
+	 * 
+	 * @return the number of fitness evaluations.
+	 */
+	public long getEvaluaciones() {
+		return evaluaciones;
+	}
+
 	/**
 	 * 
 	 * @return the time in milliseconds that the genetic algorithm took.
@@ -0,0 +1,329 @@
+package ga;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase CacheFitness
+ * Cache acotada de evaluaciones para cromosomas que son permutaciones de
+ * enteros interpretadas como tours (ciclos). Dos cromosomas que representan el
+ * mismo ciclo (misma secuencia rotada y/o recorrida al reves) comparten la
+ * entrada.
+ *
+ * Si el origen es implicito (como en el TSP, donde el tour es
+ * 0 -> cromosoma -> 0) solo se identifica el recorrido en sentido inverso; si
+ * no, tambien cualquier rotacion.
+ *
+ * Consultar no crea objetos (con IndividuoPerm): el hash es una suma sobre
+ * las aristas no dirigidas del ciclo (incluidas las del origen), que no
+ * cambia al rotar ni al invertir el tour, y la entrada candidata se
+ * comprueba recorriendo el tour guardado contra el cromosoma. Solo al fallar
+ * se guarda una copia en forma canonica.
+ *
+ * La tabla es asociativa por conjuntos de 4 entradas: cada tour solo puede ir
+ * en el conjunto que marca su hash y, cuando este se llena, se descarta una
+ * entrada que no se haya usado desde la ultima vuelta (algoritmo del reloj
+ * dentro del conjunto). Se puede usar desde varios hilos a la vez sin
+ * cerrojos: las entradas no se modifican y se sustituyen enteras.
+ *
+ * Cada consulta sigue costando O(n) (hash y comparacion), asi que solo
+ * compensa si decodificar es bastante mas caro que recorrer el cromosoma; en
+ * el TSP, donde decodificar es sumar n distancias, no sale a cuenta.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class CacheFitness {
+	private static final int VIAS = 4; // entradas por conjunto
+
+	private final int capacidad; // numero de entradas de la tabla
+	private final boolean origenImplicito; // true: el tour empieza y acaba en un origen que no esta en el cromosoma
+	private final AtomicReferenceArray<Entrada> tabla;
+	private final boolean[] usada; // bit del reloj de cada entrada (solo orientativo: no hace falta sincronizarlo)
+	private final int[] manecilla; // siguiente entrada a mirar al descartar en cada conjunto
+	private final LongAdder aciertos = new LongAdder(); // consultas resueltas por la cache
+	private final LongAdder fallos = new LongAdder(); // consultas que tuvieron que decodificar
+
+	/**
+	 * @param capacidad       numero maximo de tours guardados (se redondea a
+	 *                        potencia de 2, al menos 4)
+	 * @param origenImplicito true si el tour es origen -> cromosoma -> origen
+	 *                        (TSP); false si el cromosoma es el ciclo completo
+	 */
+	public CacheFitness(int capacidad, boolean origenImplicito) {
+		if (capacidad < 1) {
+			throw new IllegalArgumentException("La capacidad de la cache debe ser al menos 1");
+		}
+		int tam = Math.max(VIAS, Integer.highestOneBit(Math.min(capacidad, 1 << 30)));
+		if (tam < capacidad && tam < (1 << 30)) {
+			tam <<= 1;
+		}
+		this.capacidad = tam;
+		this.origenImplicito = origenImplicito;
+		this.tabla = new AtomicReferenceArray<>(tam);
+		this.usada = new boolean[tam];
+		this.manecilla = new int[tam / VIAS];
+	}
+
+	/**
+	 * fitness
+	 * Devuelve el fitness de un individuo consultando antes la cache; si no esta,
+	 * lo calcula con el decodificador y lo guarda. En un IndividuoPerm tambien
+	 * se recupera (o guarda) su coste.
+	 *
+	 * @param ind     el individuo (su representacion debe ser de enteros)
+	 * @param opDecod el decodificador (solo se usa si no esta en la cache)
+	 * @return el fitness del individuo
+	 */
+	public <A> double fitness(Individuo<A> ind, OpDecodificacion<A> opDecod) {
+		int[] g = genes(ind);
+		long hash = hash(g, origenImplicito);
+		int conjunto = (int) (hash >>> 32) & (manecilla.length - 1);
+		int base = conjunto * VIAS;
+		for (int k = base; k < base + VIAS; k++) {
+			Entrada e = tabla.get(k);
+			if (e != null && e.hash == hash && mismoCiclo(g, e.tour, origenImplicito)) {
+				usada[k] = true;
+				aciertos.increment();
+				if (ind instanceof IndividuoPerm) {
+					((IndividuoPerm) ind).setCoste(e.coste);
+				}
+				return e.fitness;
+			}
+		}
+		fallos.increment();
+		double fitness = opDecod.fitness(ind);
+		double coste = (ind instanceof IndividuoPerm ? ((IndividuoPerm) ind).getCoste() : Double.NaN);
+		guarda(base, conjunto, new Entrada(hash, canonica(g, origenImplicito), fitness, coste));
+		return fitness;
+	}
+
+	/**
+	 * Guarda una entrada en su conjunto: en un hueco libre o, si no hay, en la
+	 * primera entrada que no se haya usado desde la ultima vuelta del reloj
+	 */
+	private void guarda(int base, int conjunto, Entrada nueva) {
+		for (int k = base; k < base + VIAS; k++) {
+			if (tabla.get(k) == null && tabla.compareAndSet(k, null, nueva)) {
+				usada[k] = false;
+				return;
+			}
+		}
+		int m = manecilla[conjunto];
+		for (int vuelta = 0; vuelta < 2 * VIAS; vuelta++, m = (m + 1) % VIAS) {
+			if (!usada[base + m]) {
+				break;
+			}
+			usada[base + m] = false; // segunda oportunidad
+		}
+		tabla.set(base + m, nueva);
+		usada[base + m] = false;
+		manecilla[conjunto] = (m + 1) % VIAS;
+	}
+
+	/**
+	 * hash
+	 * Hash de un tour que no depende de la rotacion ni del sentido: suma (modulo
+	 * 2^64) de un valor mezclado de cada arista no dirigida del ciclo. Con origen
+	 * implicito el ciclo incluye las aristas (0, g[0]) y (g[n-1], 0).
+	 *
+	 * @param g               el cromosoma
+	 * @param origenImplicito si el origen es implicito
+	 * @return el hash del ciclo
+	 */
+	static long hash(int[] g, boolean origenImplicito) {
+		int n = g.length;
+		if (n == 0) {
+			return 0L;
+		}
+		long h = 0L;
+		for (int i = 0; i < n - 1; i++) {
+			h += arista(g[i], g[i + 1]);
+		}
+		if (origenImplicito) {
+			h += arista(0, g[0]) + arista(g[n - 1], 0);
+		} else {
+			h += arista(g[n - 1], g[0]);
+		}
+		return h;
+	}
+
+	/**
+	 * @return un valor de 64 bits bien mezclado de la arista no dirigida (a,b),
+	 *         igual para (b,a); se ordena con min/max, que no saltan (un if por
+	 *         arista se predice mal en tours aleatorios)
+	 */
+	private static long arista(int a, int b) {
+		long t = ((long) Math.min(a, b) << 32 | Math.max(a, b)) * 0x9e3779b97f4a7c15L;
+		t = (t ^ (t >>> 29)) * 0xbf58476d1ce4e5b9L;
+		return t ^ (t >>> 32);
+	}
+
+	/**
+	 * mismoCiclo
+	 * Comprueba, sin crear objetos, si el cromosoma g representa el mismo ciclo
+	 * que el tour c (en forma canonica)
+	 */
+	static boolean mismoCiclo(int[] g, int[] c, boolean origenImplicito) {
+		int n = g.length;
+		if (n != c.length) {
+			return false;
+		}
+		if (n == 0) {
+			return true;
+		}
+		if (origenImplicito) {
+			// el ciclo es (0, g[0], ..., g[n-1]): g es c o c al reves
+			return (g[0] == c[0] && iguales(g, c, 0, true)) || (g[n - 1] == c[0] && iguales(g, c, n - 1, false));
+		}
+		for (int i = 0; i < n; i++) {
+			if (g[i] == c[0]) {
+				return iguales(g, c, i, true) || iguales(g, c, i, false);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true si recorriendo g de forma circular desde la posicion inicio
+	 *         (hacia delante o hacia atras) se obtiene c
+	 */
+	private static boolean iguales(int[] g, int[] c, int inicio, boolean haciaDelante) {
+		int n = g.length;
+		for (int i = 0, j = inicio; i < n; i++) {
+			if (g[j] != c[i]) {
+				return false;
+			}
+			j = (haciaDelante ? (j + 1 == n ? 0 : j + 1) : (j == 0 ? n - 1 : j - 1));
+		}
+		return true;
+	}
+
+	/**
+	 * canonica
+	 * Forma canonica de un tour: si el origen es implicito, el cromosoma o su
+	 * inverso (el que tenga el primer gen menor que el ultimo); si no, la rotacion
+	 * que empieza por el gen menor, recorrida hacia su vecino menor.
+	 *
+	 * @param g               el cromosoma
+	 * @param origenImplicito si el origen es implicito
+	 * @return un array nuevo con la forma canonica
+	 */
+	static int[] canonica(int[] g, boolean origenImplicito) {
+		int n = g.length;
+		int[] c = new int[n];
+		if (n == 0) {
+			return c;
+		}
+		int inicio; // posicion de g por la que empieza la forma canonica
+		boolean inverso; // si se recorre g hacia atras
+		if (origenImplicito) {
+			// el ciclo es (0, g[0], ..., g[n-1]): solo puede recorrerse en dos sentidos
+			inverso = g[n - 1] < g[0];
+			inicio = (inverso ? n - 1 : 0);
+		} else {
+			inicio = 0;
+			for (int i = 1; i < n; i++) {
+				if (g[i] < g[inicio]) {
+					inicio = i;
+				}
+			}
+			inverso = g[(inicio - 1 + n) % n] < g[(inicio + 1) % n];
+		}
+		int paso = (inverso ? n - 1 : 1);
+		for (int i = 0, j = inicio; i < n; i++, j = (j + paso) % n) {
+			c[i] = g[j];
+		}
+		return c;
+	}
+
+	/**
+	 * @return los genes de un individuo de enteros como int[] (sin copia si es un IndividuoPerm)
+	 */
+	private static int[] genes(Individuo<?> ind) {
+		if (ind instanceof IndividuoPerm) {
+			return ((IndividuoPerm) ind).getGenes();
+		}
+		List<?> rep = ind.getRepresentation();
+		int[] g = new int[rep.size()];
+		for (int i = 0; i < g.length; i++) {
+			g[i] = (Integer) rep.get(i);
+		}
+		return g;
+	}
+
+	// OBSERVADORES
+
+	/**
+	 * @return el numero de consultas resueltas por la cache
+	 */
+	public long getAciertos() {
+		return aciertos.sum();
+	}
+
+	/**
+	 * @return el numero de consultas que tuvieron que decodificar el cromosoma
+	 */
+	public long getFallos() {
+		return fallos.sum();
+	}
+
+	/**
+	 * @return la proporcion de aciertos (0 si no ha habido consultas)
+	 */
+	public double getTasaAciertos() {
+		long a = getAciertos(), total = a + getFallos();
+		return (total > 0 ? (double) a / total : 0.0);
+	}
+
+	/**
+	 * @return el numero de tours guardados
+	 */
+	public int size() {
+		int n = 0;
+		for (int k = 0; k < tabla.length(); k++) {
+			if (tabla.get(k) != null) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Vacia la cache y pone a cero los contadores (no debe llamarse mientras se
+	 * consulta desde otros hilos)
+	 */
+	public void limpia() {
+		for (int k = 0; k < tabla.length(); k++) {
+			tabla.set(k, null);
+			usada[k] = false;
+		}
+		aciertos.reset();
+		fallos.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "CacheFitness[" + size() + "/" + capacidad + ", aciertos=" + getAciertos() + ", fallos=" + getFallos()
+				+ "]";
+	}
+
+	/**
+	 * Entrada de la cache (inmutable): hash y forma canonica del tour, fitness y
+	 * coste (NaN si no se conoce)
+	 */
+	private static final class Entrada {
+		private final long hash;
+		private final int[] tour;
+		private final double fitness;
+		private final double coste;
+
+		Entrada(long hash, int[] tour, double fitness, double coste) {
+			this.hash = hash;
+			this.tour = tour;
+			this.fitness = fitness;
+			this.coste = coste;
+		}
+	}
+}
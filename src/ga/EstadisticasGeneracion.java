@@ -0,0 +1,221 @@
+package ga;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Clase EstadisticasGeneracion
+ * Medidas de una generacion del GA que se pasan a los OyenteGA: tiempo en
+ * nanosegundos de cada fase, evaluaciones realizadas, mejor/media/peor fitness
+ * de la poblacion resultante, individuos creados por los operadores y bytes
+ * reservados en el heap.
+ *
+ * Si los hijos se crian en paralelo, los tiempos de seleccion, cruce y mutacion
+ * son la suma de los de todos los hilos (pueden superar a getNanosCria(), que es
+ * el tiempo real de la fase de cria).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class EstadisticasGeneracion {
+	// medidor de memoria reservada por hilo (null si la JVM no lo ofrece)
+	private static final com.sun.management.ThreadMXBean MEDIDOR = medidor();
+
+	final int generacion; // numero de generacion (0: poblacion inicial)
+	long nanosSeleccion; // tiempo en el operador de seleccion
+	long nanosCruce; // tiempo en el operador de cruce (y en copiar padres si no hay cruce)
+	long nanosMutacion; // tiempo en el operador de mutacion
+	long nanosCria; // tiempo real de la cria completa (seleccion + cruce + mutacion)
+	long nanosEvaluacion; // tiempo evaluando los hijos
+	long nanosReemplazo; // tiempo en el operador de reemplazo
+	long nanosTotal; // tiempo total de la generacion
+	long evaluaciones; // individuos evaluados (sin contar los que ya venian evaluados)
+	long individuosCreados; // individuos devueltos por cruce, copia y mutacion
+	long bytesReservados; // bytes reservados por el hilo del GA y sus tareas (-1 si no se puede medir)
+	double mejorFitness;
+	double mediaFitness;
+	double peorFitness;
+
+	/**
+	 * @param generacion el numero de generacion
+	 */
+	EstadisticasGeneracion(int generacion) {
+		this.generacion = generacion;
+		this.bytesReservados = (MEDIDOR != null ? 0L : -1L);
+	}
+
+	/**
+	 * suma
+	 * Acumula las medidas de cria de una tarea que crio parte de los hijos
+	 */
+	synchronized void suma(EstadisticasGeneracion parcial) {
+		nanosSeleccion += parcial.nanosSeleccion;
+		nanosCruce += parcial.nanosCruce;
+		nanosMutacion += parcial.nanosMutacion;
+		individuosCreados += parcial.individuosCreados;
+		sumaBytes(parcial.bytesReservados);
+	}
+
+	/**
+	 * sumaBytes
+	 * Acumula los bytes reservados por un hilo (no hace nada si no se miden)
+	 */
+	synchronized void sumaBytes(long bytes) {
+		if (bytesReservados >= 0 && bytes > 0) {
+			bytesReservados += bytes;
+		}
+	}
+
+	/**
+	 * calculaFitness
+	 * Calcula el mejor, medio y peor fitness de la poblacion en una sola pasada
+	 */
+	<A> void calculaFitness(List<Individuo<A>> population) {
+		double mejor = Double.NEGATIVE_INFINITY, peor = Double.POSITIVE_INFINITY, suma = 0.0;
+		for (int i = 0; i < population.size(); i++) {
+			double f = population.get(i).getFitness();
+			mejor = Math.max(mejor, f);
+			peor = Math.min(peor, f);
+			suma += f;
+		}
+		mejorFitness = mejor;
+		peorFitness = peor;
+		mediaFitness = (population.size() > 0 ? suma / population.size() : 0.0);
+	}
+
+	/**
+	 * @return los bytes reservados hasta ahora por el hilo actual (-1 si la JVM
+	 *         no permite medirlo)
+	 */
+	static long bytesHilo() {
+		return (MEDIDOR != null ? MEDIDOR.getCurrentThreadAllocatedBytes() : -1L);
+	}
+
+	private static com.sun.management.ThreadMXBean medidor() {
+		try {
+			ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+			if (mx instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) mx;
+				if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+					return sun;
+				}
+			}
+		} catch (LinkageError | SecurityException e) {
+			// sin medida de memoria
+		}
+		return null;
+	}
+
+	// OBSERVADORES
+
+	/**
+	 * @return el numero de generacion (0: poblacion inicial)
+	 */
+	public int getGeneracion() {
+		return generacion;
+	}
+
+	/**
+	 * @return nanosegundos en el operador de seleccion
+	 */
+	public long getNanosSeleccion() {
+		return nanosSeleccion;
+	}
+
+	/**
+	 * @return nanosegundos en el operador de cruce (incluye copiar los padres
+	 *         cuando no se cruzan)
+	 */
+	public long getNanosCruce() {
+		return nanosCruce;
+	}
+
+	/**
+	 * @return nanosegundos en el operador de mutacion
+	 */
+	public long getNanosMutacion() {
+		return nanosMutacion;
+	}
+
+	/**
+	 * @return nanosegundos (reales) de la fase de cria completa
+	 */
+	public long getNanosCria() {
+		return nanosCria;
+	}
+
+	/**
+	 * @return nanosegundos evaluando (decodificando) los individuos
+	 */
+	public long getNanosEvaluacion() {
+		return nanosEvaluacion;
+	}
+
+	/**
+	 * @return nanosegundos en el operador de reemplazo
+	 */
+	public long getNanosReemplazo() {
+		return nanosReemplazo;
+	}
+
+	/**
+	 * @return nanosegundos de la generacion completa
+	 */
+	public long getNanosTotal() {
+		return nanosTotal;
+	}
+
+	/**
+	 * @return el numero de individuos evaluados en la generacion
+	 */
+	public long getEvaluaciones() {
+		return evaluaciones;
+	}
+
+	/**
+	 * @return el numero de individuos creados por los operadores de cruce y
+	 *         mutacion (y copias de padres)
+	 */
+	public long getIndividuosCreados() {
+		return individuosCreados;
+	}
+
+	/**
+	 * @return los bytes reservados en el heap durante la generacion por el hilo
+	 *         del GA y sus tareas en paralelo (-1 si la JVM no permite medirlo)
+	 */
+	public long getBytesReservados() {
+		return bytesReservados;
+	}
+
+	/**
+	 * @return el mejor fitness de la poblacion al final de la generacion
+	 */
+	public double getMejorFitness() {
+		return mejorFitness;
+	}
+
+	/**
+	 * @return el fitness medio de la poblacion al final de la generacion
+	 */
+	public double getMediaFitness() {
+		return mediaFitness;
+	}
+
+	/**
+	 * @return el peor fitness de la poblacion al final de la generacion
+	 */
+	public double getPeorFitness() {
+		return peorFitness;
+	}
+
+	@Override
+	public String toString() {
+		return "gen " + generacion + ": total=" + nanosTotal / 1000 + "us [sel=" + nanosSeleccion / 1000
+				+ "us, cruce=" + nanosCruce / 1000 + "us, mut=" + nanosMutacion / 1000 + "us, eval="
+				+ nanosEvaluacion / 1000 + "us, reemp=" + nanosReemplazo / 1000 + "us], evals=" + evaluaciones
+				+ ", creados=" + individuosCreados + ", bytes=" + bytesReservados + ", fitness(mejor/media/peor)="
+				+ mejorFitness + "/" + mediaFitness + "/" + peorFitness;
+	}
+}
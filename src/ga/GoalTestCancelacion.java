@@ -0,0 +1,43 @@
+package ga;
+
+/**
+ * Goal Test that is satisfied when the run is cancelled from outside (e.g. from
+ * another thread)
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestCancelacion<A> implements GoalTest<Individuo<A>> {
+	private volatile boolean cancelado;
+
+	/**
+	 * Pide que el GA se detenga al terminar la iteracion en curso
+	 */
+	public void cancelar() {
+		cancelado = true;
+	}
+
+	/**
+	 * Anula una cancelacion anterior (para reutilizar el objeto en otra ejecucion)
+	 */
+	public void reiniciar() {
+		cancelado = false;
+	}
+
+	/**
+	 * @return true si se ha pedido la cancelacion
+	 */
+	public boolean isCancelado() {
+		return cancelado;
+	}
+
+	@Override
+	public boolean test(Individuo<A> state) {
+		return cancelado;
+	}
+
+	@Override
+	public String toString() {
+		return "cancelacion externa";
+	}
+
+}
@@ -0,0 +1,54 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Goal Test that combines several goal tests: it is satisfied as soon as any of
+ * them is, and remembers which one it was
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestCompuesto<A> implements GoalTest<Individuo<A>> {
+	private List<GoalTest<Individuo<A>>> tests;
+	private GoalTest<Individuo<A>> cumplido; // el que se cumplio en la ultima llamada (o null)
+
+	/**
+	 * @param tests los criterios de parada (se comprueban en este orden)
+	 */
+	@SafeVarargs
+	public GoalTestCompuesto(GoalTest<Individuo<A>>... tests) {
+		this.tests = new ArrayList<>(tests.length);
+		for (GoalTest<Individuo<A>> t : tests) {
+			this.tests.add(t);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.GoalTest#test(java.lang.Object)
+	 * se evaluan todos (algunos, como el de estancamiento, llevan la cuenta en cada llamada)
+	 */
+	@Override
+	public boolean test(Individuo<A> state) {
+		cumplido = null;
+		for (GoalTest<Individuo<A>> t : tests) {
+			if (t.test(state) && cumplido == null) {
+				cumplido = t;
+			}
+		}
+		return cumplido != null;
+	}
+
+	/**
+	 * @return el criterio que se cumplio en la ultima comprobacion (null si ninguno)
+	 */
+	public GoalTest<Individuo<A>> getCumplido() {
+		return (cumplido instanceof GoalTestCompuesto ? ((GoalTestCompuesto<A>) cumplido).getCumplido() : cumplido);
+	}
+
+	@Override
+	public String toString() {
+		return "cualquiera de " + tests;
+	}
+
+}
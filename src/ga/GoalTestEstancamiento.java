@@ -0,0 +1,42 @@
+package ga;
+
+/**
+ * Goal Test based on the best individual not improving for a number of iterations
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestEstancamiento<A> implements GoalTest<Individuo<A>> {
+	private int maxIterSinMejora;
+	private AlgoritmoGenetico<A> ga;
+	private double mejorFitness; // mejor fitness visto en la ejecucion en curso
+	private int iterMejora; // iteracion en que se vio por ultima vez una mejora
+
+	/**
+	 * @param genalg el GA
+	 * @param maxIterSinMejora numero de iteraciones sin mejorar el mejor individuo
+	 */
+	public GoalTestEstancamiento(AlgoritmoGenetico<A> genalg, final int maxIterSinMejora) {
+		ga = genalg;
+		this.maxIterSinMejora = maxIterSinMejora;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.GoalTest#test(java.lang.Object)
+	 * state es el mejor individuo encontrado hasta el momento
+	 */
+	@Override
+	public boolean test(Individuo<A> state) {
+		int iter = ga.getIterations();
+		if (iter == 0 || state.getFitness() > mejorFitness) { // nueva ejecucion o mejora
+			mejorFitness = state.getFitness();
+			iterMejora = iter;
+		}
+		return iter - iterMejora >= maxIterSinMejora;
+	}
+
+	@Override
+	public String toString() {
+		return "estancamiento (" + maxIterSinMejora + " iteraciones sin mejora)";
+	}
+
+}
@@ -0,0 +1,32 @@
+package ga;
+
+/**
+ * Goal Test based on the best individual reaching a target fitness
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestFitnessObjetivo<A> implements GoalTest<Individuo<A>> {
+	private double fitnessObjetivo;
+
+	/**
+	 * @param fitnessObjetivo el fitness que se considera suficiente
+	 */
+	public GoalTestFitnessObjetivo(double fitnessObjetivo) {
+		this.fitnessObjetivo = fitnessObjetivo;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.GoalTest#test(java.lang.Object)
+	 * state es el mejor individuo encontrado hasta el momento
+	 */
+	@Override
+	public boolean test(Individuo<A> state) {
+		return state.getFitness() >= fitnessObjetivo;
+	}
+
+	@Override
+	public String toString() {
+		return "fitness objetivo (" + fitnessObjetivo + ")";
+	}
+
+}
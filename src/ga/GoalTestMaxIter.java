@@ -25,4 +25,9 @@ public class GoalTestMaxIter<A> implements GoalTest<Individuo<A>> {
 		return ga.getIterations()>=maxIter;
 	}
 
+	@Override
+	public String toString() {
+		return "maximo de iteraciones (" + maxIter + ")";
+	}
+
 }
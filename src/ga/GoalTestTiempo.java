@@ -0,0 +1,31 @@
+package ga;
+
+/**
+ * Goal Test based on the ga reaching a wall-clock time budget
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestTiempo<A> implements GoalTest<Individuo<A>> {
+	private long maxMSec;
+	private AlgoritmoGenetico<A> ga;
+
+	/**
+	 * @param genalg el GA
+	 * @param maxMilisegundos tiempo maximo de ejecucion (en milisegundos)
+	 */
+	public GoalTestTiempo(AlgoritmoGenetico<A> genalg, final long maxMilisegundos) {
+		ga = genalg;
+		maxMSec = maxMilisegundos;
+	}
+
+	@Override
+	public boolean test(Individuo<A> state) {
+		return ga.getTimeInMilliseconds() >= maxMSec;
+	}
+
+	@Override
+	public String toString() {
+		return "tiempo maximo (" + maxMSec + " ms)";
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.List;
 public class Individuo<A> {
 	private List<A> representation = new ArrayList<>();
 	private double fitness;
+	private boolean evaluado; // si fitness ya es el de su representacion (asignado con setFitness)
 
 	/**
 	 * Construct an individual using the provided representation.
@@ -50,10 +51,19 @@ public class Individuo<A> {
 	}
 	
 	/**
-	 * @param the individual's fitness
+	 * @param the individual's fitness (from now on the individual counts as evaluated)
 	 */
 	public void setFitness(double fv) {
 		fitness = fv;
+		evaluado = true;
+	}
+
+	/**
+	 * @return true if the fitness has been set with setFitness (or copied from an
+	 *         evaluated individual), so there is no need to decode it again
+	 */
+	public boolean isEvaluado() {
+		return evaluado;
 	}
 
 	/**
@@ -72,6 +82,16 @@ public class Individuo<A> {
 		return representation.size();
 	}
 
+	/**
+	 *
+	 * @return una copia del individuo (misma representacion y mismo fitness)
+	 */
+	public Individuo<A> copia() {
+		Individuo<A> c = new Individuo<A>(representation, fitness);
+		c.evaluado = evaluado;
+		return c;
+	}
+
 	
 
 	@Override
@@ -0,0 +1,127 @@
+package ga;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Clase IndividuoPerm
+ * Individuo especializado para problemas de permutacion: el cromosoma se guarda
+ * en un int[] (sin Integer "boxeados") y el coste de la solucion se guarda junto
+ * al fitness, de forma que los operadores de permutacion (OpGenRandPerm,
+ * OpCruce1PuntoPerm, OpCruce2PuntosPerm, OpMutacionSwapPerm...) y el decodificador
+ * del TSP pueden trabajar directamente sobre el array.
+ *
+ * Sigue siendo un Individuo<Integer>, asi que puede circular por cualquier
+ * operador generico: getRepresentation() devuelve una vista (sin copia) del array.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class IndividuoPerm extends Individuo<Integer> {
+	private final int[] genes; // cromosoma (el individuo es el propietario del array)
+	private double coste; // coste de la solucion decodificada (NaN si no se conoce)
+
+	/**
+	 * Construye un individuo a partir de un array de genes.
+	 * El array NO se copia: el individuo pasa a ser su propietario.
+	 *
+	 * @param genes el cromosoma
+	 */
+	public IndividuoPerm(int[] genes) {
+		this(genes, 0.0, Double.NaN);
+	}
+
+	/**
+	 * Construye un individuo a partir de un array de genes, su fitness y su coste.
+	 * El array NO se copia: el individuo pasa a ser su propietario.
+	 *
+	 * @param genes   el cromosoma
+	 * @param fitness el fitness del individuo
+	 * @param coste   el coste de la solucion que representa (NaN si no se conoce)
+	 */
+	public IndividuoPerm(int[] genes, double fitness, double coste) {
+		super(new VistaGenes(genes), fitness);
+		this.genes = genes;
+		this.coste = coste;
+	}
+
+	/**
+	 * @return el array de genes (sin copia; no debe modificarse si el individuo ya
+	 *         esta evaluado)
+	 */
+	public int[] getGenes() {
+		return genes;
+	}
+
+	/**
+	 * @return el coste de la solucion (NaN si no se ha calculado)
+	 */
+	public double getCoste() {
+		return coste;
+	}
+
+	/**
+	 * @param coste el coste de la solucion que representa el individuo
+	 */
+	public void setCoste(double coste) {
+		this.coste = coste;
+	}
+
+	@Override
+	public int length() {
+		return genes.length;
+	}
+
+	@Override
+	public IndividuoPerm copia() {
+		IndividuoPerm c = new IndividuoPerm(genes.clone(), getFitness(), coste);
+		if (isEvaluado()) {
+			c.setFitness(getFitness());
+		}
+		return c;
+	}
+
+	/**
+	 * genesDe
+	 * Obtiene el cromosoma de un individuo como int[]. Si el individuo ya es un
+	 * IndividuoPerm se devuelve su array sin copiarlo; si no, se "desboxea" su
+	 * representacion.
+	 *
+	 * @param ind el individuo
+	 * @return el array de genes (solo lectura)
+	 */
+	public static int[] genesDe(Individuo<Integer> ind) {
+		if (ind instanceof IndividuoPerm) {
+			return ((IndividuoPerm) ind).genes;
+		}
+		List<Integer> rep = ind.getRepresentation();
+		int[] genes = new int[rep.size()];
+		for (int i = 0; i < genes.length; i++) {
+			genes[i] = rep.get(i);
+		}
+		return genes;
+	}
+
+	/**
+	 * Vista de solo lectura de un int[] como List<Integer>, para que un
+	 * IndividuoPerm siga cumpliendo el contrato de Individuo
+	 */
+	private static class VistaGenes extends AbstractList<Integer> implements RandomAccess {
+		private final int[] genes;
+
+		VistaGenes(int[] genes) {
+			this.genes = genes;
+		}
+
+		@Override
+		public Integer get(int index) {
+			return genes[index];
+		}
+
+		@Override
+		public int size() {
+			return genes.length;
+		}
+	}
+}
@@ -0,0 +1,311 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Clase ModeloIslas
+ *
+ * <pre>
+ * GA con modelo de islas: N subpoblaciones, cada una con su propio
+ * AlgoritmoGenetico, evolucionan a la vez (una tarea por isla) y cada M
+ * generaciones se detienen para intercambiar sus K mejores individuos, que
+ * sustituyen a los K peores de la isla destino.
+ * </pre>
+ *
+ * Los operadores de generacion, cruce, mutacion y decodificacion se comparten
+ * entre islas, asi que tienen que poder usarse desde varios hilos a la vez. Los
+ * de seleccion y reemplazo se piden con un Supplier (uno por isla) porque
+ * pueden guardar estado de la generacion en curso.
+ *
+ * @author Ian Saucedo
+ * @param <A> el tipo de los elementos del cromosoma
+ * @version 2025.11
+ */
+public class ModeloIslas<A> {
+
+	/**
+	 * Topologia de migracion: ANILLO (la isla i envia a la i+1) o ALEATORIA (cada
+	 * isla envia, en cada migracion, a otra isla elegida al azar)
+	 */
+	public enum Topologia {
+		ANILLO, ALEATORIA
+	}
+
+	// ATRIBUTOS
+	private final List<AlgoritmoGenetico<A>> islas; // un GA por isla
+	private final Topologia topologia; // a quien envia migrantes cada isla
+	private final int intervaloMigracion; // generaciones entre dos migraciones (M)
+	private final int numMigrantes; // individuos que envia cada isla en cada migracion (K)
+	private ExecutorService ejecutor; // ejecutor en el que evolucionan las islas
+	private SplittableRandom generador = new SplittableRandom(); // raiz de los generadores de cada isla
+	// traza
+	private Individuo<A> cromosomaSol; // mejor individuo encontrado en todas las islas
+	private int iterations; // generaciones ejecutadas (en cada isla)
+	private int migraciones; // numero de migraciones realizadas
+	private long timeInMSec; // tiempo consumido
+
+	// CONSTRUCTOR
+	/**
+	 * @param numIslas             numero de islas (subpoblaciones)
+	 * @param individualLength     longitud del cromosoma
+	 * @param finiteAlphabet       alfabeto
+	 * @param crossoverProbability probabilidad de cruce
+	 * @param mutationProbability  probabilidad de mutacion
+	 * @param popSizeIsla          tamanio de la poblacion de cada isla
+	 * @param topologia            topologia de migracion
+	 * @param intervaloMigracion   generaciones entre migraciones (M)
+	 * @param numMigrantes         mejores individuos que envia cada isla (K)
+	 */
+	public ModeloIslas(int numIslas, int individualLength, Collection<A> finiteAlphabet,
+			double crossoverProbability, double mutationProbability, int popSizeIsla,
+			Topologia topologia, int intervaloMigracion, int numMigrantes) {
+		if (numIslas < 1) {
+			throw new IllegalArgumentException("Debe haber al menos una isla");
+		}
+		if (intervaloMigracion < 1 || numMigrantes < 0 || numMigrantes > popSizeIsla) {
+			throw new IllegalArgumentException("Parametros de migracion no validos: M=" + intervaloMigracion
+					+ ", K=" + numMigrantes);
+		}
+		this.islas = new ArrayList<>(numIslas);
+		for (int i = 0; i < numIslas; i++) {
+			islas.add(new AlgoritmoGenetico<A>(individualLength, finiteAlphabet, crossoverProbability,
+					mutationProbability, popSizeIsla));
+		}
+		this.topologia = topologia;
+		this.intervaloMigracion = intervaloMigracion;
+		this.numMigrantes = numMigrantes;
+	}
+
+	/**
+	 * lanzaGA()
+	 * Metodo que lanza una ejecucion del modelo de islas: genera la poblacion
+	 * inicial de cada isla y las hace evolucionar en paralelo durante
+	 * maxIterations generaciones, migrando cada intervaloMigracion generaciones
+	 *
+	 * @param opG           un OpGeneracion (compartido)
+	 * @param maxIterations el numero de generaciones de cada isla
+	 * @param opCross       un OpCruce (compartido)
+	 * @param opM           un OpMutacion (compartido)
+	 * @param opSel         crea el OpSeleccion de cada isla
+	 * @param opDecod       un OpDecodificacion (compartido)
+	 * @param opReemp       crea el OpReemplazo de cada isla
+	 * @return el mejor individuo encontrado en todas las islas
+	 */
+	public Individuo<A> lanzaGA(OpGeneracion<A> opG, final int maxIterations, OpCruce<A> opCross,
+			OpMutacion<A> opM, Supplier<? extends OpSeleccion<A>> opSel, OpDecodificacion<A> opDecod,
+			Supplier<? extends OpReemplazo<A>> opReemp) {
+		long startTime = System.currentTimeMillis();
+		int n = islas.size();
+		ExecutorService exec = (ejecutor != null ? ejecutor : new ForkJoinPool(n));
+
+		// estado de cada isla: operadores propios, generador y poblacion
+		List<OpSeleccion<A>> selecciones = new ArrayList<>(n);
+		List<OpReemplazo<A>> reemplazos = new ArrayList<>(n);
+		List<SplittableRandom> generadores = new ArrayList<>(n);
+		List<List<Individuo<A>>> poblaciones = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			selecciones.add(opSel.get());
+			reemplazos.add(opReemp.get());
+			generadores.add(generador.split());
+			poblaciones.add(null);
+		}
+
+		try {
+			// poblaciones iniciales
+			ejecutaEnIslas(exec, generadores, i -> poblaciones.set(i, islas.get(i).iniciaPoblacion(opG, opDecod)));
+
+			// epocas: intervaloMigracion generaciones en cada isla y migracion
+			iterations = 0;
+			migraciones = 0;
+			while (iterations < maxIterations) {
+				final int generaciones = Math.min(intervaloMigracion, maxIterations - iterations);
+				ejecutaEnIslas(exec, generadores, i -> {
+					AlgoritmoGenetico<A> ga = islas.get(i);
+					List<Individuo<A>> population = poblaciones.get(i);
+					for (int g = 0; g < generaciones; g++) {
+						population = ga.siguienteGeneracion(population, opCross, opM, selecciones.get(i), opDecod,
+								reemplazos.get(i));
+					}
+					poblaciones.set(i, population);
+				});
+				iterations += generaciones;
+				if (iterations < maxIterations && n > 1 && numMigrantes > 0) {
+					migra(poblaciones);
+					migraciones++;
+				}
+			}
+		} finally {
+			if (exec != ejecutor) {
+				exec.shutdown();
+			}
+		}
+
+		// mejor solucion global
+		cromosomaSol = islas.get(0).cromosomaSol;
+		for (AlgoritmoGenetico<A> ga : islas) {
+			if (ga.cromosomaSol.getFitness() > cromosomaSol.getFitness()) {
+				cromosomaSol = ga.cromosomaSol;
+			}
+		}
+		timeInMSec = System.currentTimeMillis() - startTime;
+		for (int i = 0; i < n; i++) {
+			islas.get(i).updateMetrics(poblaciones.get(i), iterations, timeInMSec);
+		}
+		return cromosomaSol;
+	}
+
+	// METODOS AUXILIARES
+
+	/**
+	 * Tarea que se ejecuta sobre la isla i-esima
+	 */
+	private interface TareaIsla {
+		void ejecuta(int isla);
+	}
+
+	/**
+	 * ejecutaEnIslas
+	 * Ejecuta una tarea por isla en el ejecutor y espera a que terminen todas.
+	 * Mientras dura la tarea, el hilo usa el generador aleatorio de la isla.
+	 */
+	private void ejecutaEnIslas(ExecutorService exec, List<SplittableRandom> generadores, TareaIsla tarea) {
+		List<Callable<Void>> tareas = new ArrayList<>(islas.size());
+		for (int i = 0; i < islas.size(); i++) {
+			final int isla = i;
+			tareas.add(() -> {
+				SplittableRandom anterior = Util.getGeneradorHilo();
+				Util.setGeneradorHilo(generadores.get(isla));
+				try {
+					tarea.ejecuta(isla);
+				} finally {
+					Util.setGeneradorHilo(anterior);
+				}
+				return null;
+			});
+		}
+		try {
+			for (Future<Void> f : exec.invokeAll(tareas)) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Ejecucion de las islas interrumpida", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Error en la ejecucion de una isla", e.getCause());
+		}
+	}
+
+	/**
+	 * migra
+	 * Cada isla envia una copia de sus numMigrantes mejores individuos a su
+	 * destino segun la topologia, donde sustituyen a los peores. Primero se
+	 * eligen todos los emigrantes y despues se insertan, para que ninguna isla
+	 * reenvie los migrantes que acaba de recibir.
+	 */
+	private void migra(List<List<Individuo<A>>> poblaciones) {
+		int n = poblaciones.size();
+		List<List<Individuo<A>>> emigrantes = new ArrayList<>(n);
+		for (List<Individuo<A>> population : poblaciones) {
+			Integer[] orden = ordenPorFitness(population);
+			List<Individuo<A>> mejores = new ArrayList<>(numMigrantes);
+			for (int k = 0; k < numMigrantes; k++) {
+				mejores.add(population.get(orden[orden.length - 1 - k]).copia());
+			}
+			emigrantes.add(mejores);
+		}
+		for (int i = 0; i < n; i++) {
+			int destino;
+			if (topologia == Topologia.ANILLO) {
+				destino = (i + 1) % n;
+			} else {
+				destino = Util.randomInt(n - 1);
+				if (destino >= i) {
+					destino++; // cualquier isla salvo la propia
+				}
+			}
+			List<Individuo<A>> population = poblaciones.get(destino);
+			Integer[] orden = ordenPorFitness(population);
+			for (int k = 0; k < numMigrantes; k++) {
+				population.set(orden[k], emigrantes.get(i).get(k));
+			}
+		}
+	}
+
+	/**
+	 * @return los indices de la poblacion ordenados de menor a mayor fitness
+	 */
+	private Integer[] ordenPorFitness(List<Individuo<A>> population) {
+		Integer[] orden = new Integer[population.size()];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = i;
+		}
+		Arrays.sort(orden, Comparator.comparingDouble(i -> population.get(i).getFitness()));
+		return orden;
+	}
+
+	// OBSERVADORES Y MODIFICADORES
+
+	/**
+	 * setEjecutor
+	 * @param ejecutor el ejecutor en el que evolucionan las islas (null: se crea
+	 *                 un ForkJoinPool con un hilo por isla en cada ejecucion)
+	 */
+	public void setEjecutor(ExecutorService ejecutor) {
+		this.ejecutor = ejecutor;
+	}
+
+	/**
+	 * setSemilla
+	 * @param semilla la semilla de la que se derivan los generadores de cada isla
+	 */
+	public void setSemilla(long semilla) {
+		this.generador = new SplittableRandom(semilla);
+	}
+
+	/**
+	 * @return los GA de cada isla (por ejemplo, para activar en ellos la
+	 *         evaluacion en paralelo)
+	 */
+	public List<AlgoritmoGenetico<A>> getIslas() {
+		return islas;
+	}
+
+	/**
+	 * @return el mejor individuo encontrado en la ultima ejecucion
+	 */
+	public Individuo<A> getMejorIndividuo() {
+		return cromosomaSol;
+	}
+
+	/**
+	 * @return el numero de generaciones ejecutadas en cada isla
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * @return el numero de migraciones realizadas
+	 */
+	public int getMigraciones() {
+		return migraciones;
+	}
+
+	/**
+	 * @return el tiempo en milisegundos que tardo la ultima ejecucion
+	 */
+	public long getTimeInMilliseconds() {
+		return timeInMSec;
+	}
+}
@@ -1,7 +1,9 @@
 package ga;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Clase OpCruce1PuntoNoRep
@@ -41,15 +43,16 @@ public class OpCruce1PuntoNoRep<A> extends OpCruce<A> {
 		List<A> xChromosome = x.getRepresentation(); // chromosome x
 		List<A> yChromosome = y.getRepresentation(); // chromosome y
 		List<A> childChromosome = new ArrayList<A>(x.length()); // child chromosome
+		Set<A> copiados = new HashSet<A>(2*c); // genes copied from x (compared with equals)
 		// The first substring from the first parent, order and position
-		for (int k= 0; k<c; k++)
+		for (int k= 0; k<c; k++) {
 			childChromosome.add(k, xChromosome.get(k));
+			copiados.add(xChromosome.get(k));
+		}
 		// The remaining genes from the second parent, relative order
 		int k = c; // need to find value of k-th position in child
 		for (int i = 0; i<y.length(); i++) { // traverse y
-			int j = 0;
-			while (j<c && yChromosome.get(i) != xChromosome.get(j)) j++; // check gene in y is not already copied from x
-			if (j == c) {
+			if (!copiados.contains(yChromosome.get(i))) { // check gene in y is not already copied from x
 				childChromosome.add(k, yChromosome.get(i));
 				k++;
 			}
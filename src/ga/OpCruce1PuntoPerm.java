@@ -0,0 +1,48 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpCruce1PuntoPerm
+ * cruce en un punto sin repeticiones (como OpCruce1PuntoNoRep) sobre int[]:
+ * en lugar de buscar cada gen en el tramo copiado se marca en el conjunto de
+ * marcas reutilizable de OpCrucePerm, asi que cada hijo cuesta O(n)
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpCruce1PuntoPerm extends OpCrucePerm {
+
+	@Override
+	protected void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children) {
+		int c = Util.randomInt(x.length); // crossover point
+		children.add(cross1(c, x, y));
+		if (nchildren == 2) {
+			children.add(cross1(c, y, x)); // exchange parent roles to produce 2nd child
+		}
+	}
+
+	/**
+	 * Operador de cruce: CRUCE EN UN PUNTO
+	 * @param c punto de cruce
+	 * @param x un cromosoma
+	 * @param y otro cromosoma
+	 * @return el hijo de x e y
+	 */
+	private IndividuoPerm cross1(int c, int[] x, int[] y) {
+		int[] child = new int[x.length];
+		Auxiliar copiado = auxiliar(x);
+		// The first substring from the first parent, order and position
+		for (int k = 0; k < c; k++) {
+			child[k] = x[k];
+			copiado.marca(x[k]);
+		}
+		// The remaining genes from the second parent, relative order
+		int k = c;
+		for (int i = 0; i < y.length; i++) {
+			if (!copiado.marcado(y[i])) {
+				child[k++] = y[i];
+			}
+		}
+		return new IndividuoPerm(child);
+	}
+}
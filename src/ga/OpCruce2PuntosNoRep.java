@@ -1,7 +1,9 @@
 package ga;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Clase OpCruce2PuntosNoRep
@@ -57,8 +59,10 @@ public class OpCruce2PuntosNoRep<A> extends OpCruce<A> {
 
 		// Copy the segment between crossover points from first parent (maintaining
 		// position)
+		Set<A> segmento = new HashSet<>(2 * (c2 - c1 + 1)); // genes of the segment
 		for (int i = c1; i <= c2; i++) {
 			childChromosome.set(i, xChromosome.get(i));
+			segmento.add(xChromosome.get(i));
 		}
 
 		// Fill the remaining positions with genes from second parent (maintaining
@@ -68,17 +72,8 @@ public class OpCruce2PuntosNoRep<A> extends OpCruce<A> {
 			int ypos = (c2 + 1 + i) % y.length(); // position in second parent
 			A gene = yChromosome.get(ypos);
 
-			// Check if the gene is already in the middle segment
-			boolean found = false;
-			for (int j = c1; j <= c2; j++) {
-				if (gene.equals(childChromosome.get(j))) {
-					found = true;
-					break;
-				}
-			}
-
 			// If gene not found in middle segment, add it to child
-			if (!found) {
+			if (!segmento.contains(gene)) {
 				while (childChromosome.get(k) != null) {
 					k = (k + 1) % x.length();
 				}
@@ -0,0 +1,59 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpCruce2PuntosPerm
+ * cruce en dos puntos sin repeticiones (OX, como OpCruce2PuntosNoRep) sobre
+ * int[]: los genes del tramo central se marcan en el conjunto de marcas
+ * reutilizable de OpCrucePerm, asi que cada hijo cuesta O(n)
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpCruce2PuntosPerm extends OpCrucePerm {
+
+	@Override
+	protected void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children) {
+		// Generate two random crossover points
+		int c1 = Util.randomInt(x.length - 1); // first crossover point
+		int c2 = c1 + 1 + Util.randomInt(x.length - c1 - 1); // second crossover point
+
+		children.add(cross2(c1, c2, x, y));
+		if (nchildren == 2) {
+			children.add(cross2(c1, c2, y, x)); // exchange parent roles for 2nd child
+		}
+	}
+
+	/**
+	 * Two-point Order Crossover (OX)
+	 * 
+	 * @param c1 first crossover point
+	 * @param c2 second crossover point
+	 * @param x  first parent
+	 * @param y  second parent
+	 * @return child
+	 */
+	private IndividuoPerm cross2(int c1, int c2, int[] x, int[] y) {
+		int n = x.length;
+		int[] child = new int[n];
+		Auxiliar copiado = auxiliar(x);
+
+		// Copy the segment between crossover points from first parent (maintaining position)
+		for (int i = c1; i <= c2; i++) {
+			child[i] = x[i];
+			copiado.marca(x[i]);
+		}
+
+		// Fill the remaining positions with genes from second parent (maintaining
+		// relative order), starting after the second crossover point
+		int k = (c2 + 1) % n; // current position in child
+		for (int i = 0; i < n; i++) {
+			int gene = y[(c2 + 1 + i) % n];
+			if (!copiado.marcado(gene)) {
+				child[k] = gene;
+				k = (k + 1) % n;
+			}
+		}
+		return new IndividuoPerm(child);
+	}
+}
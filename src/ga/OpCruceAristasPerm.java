@@ -0,0 +1,210 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpCruceAristasPerm
+ * cruce por recombinacion de aristas (ERX, Whitley et al. 1989, con preferencia
+ * por las aristas comunes) para permutaciones que representan un ciclo, como
+ * los tours del TSP. A diferencia de OX, PMX o CX, que conservan posiciones, el
+ * hijo se construye con las aristas (adyacencias) de los padres: se parte de un
+ * nodo y se avanza siempre a un vecino que lo sea en alguno de los padres,
+ * eligiendo primero las aristas que estan en los dos y, si no, el vecino con
+ * menos vecinos pendientes (para no quedarse aislado). Solo cuando el nodo
+ * actual no tiene vecinos pendientes se salta a uno aleatorio.
+ *
+ * Si el origen es implicito (TSP: el tour es 0 -> cromosoma -> 0) el nodo 0
+ * forma parte del ciclo y el hijo empieza en el; si no, el cromosoma es el
+ * ciclo completo y el hijo empieza por el primer gen del padre.
+ *
+ * La tabla de vecinos es un int[] plano con 4 casillas por nodo (2 por padre)
+ * y todo el espacio de trabajo se reutiliza por hilo, asi que cada hijo cuesta
+ * O(n) sin reservar mas memoria que la del propio hijo.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpCruceAristasPerm extends OpCrucePerm {
+	private static final int MAX_VECINOS = 4; // 2 vecinos en cada padre
+
+	// espacio de trabajo de cada hilo
+	private static final ThreadLocal<Tablas> TABLAS = ThreadLocal.withInitial(Tablas::new);
+
+	private final boolean origenImplicito; // true: el ciclo es 0 -> cromosoma -> 0
+
+	/**
+	 * Constructor para el TSP (origen implicito 0)
+	 */
+	public OpCruceAristasPerm() {
+		this(true);
+	}
+
+	/**
+	 * Constructor
+	 * @param origenImplicito true si el ciclo es 0 -> cromosoma -> 0 (TSP), false
+	 *                        si el cromosoma es el ciclo completo
+	 */
+	public OpCruceAristasPerm(boolean origenImplicito) {
+		this.origenImplicito = origenImplicito;
+	}
+
+	@Override
+	protected void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children) {
+		children.add(erx(x, y));
+		if (nchildren == 2) {
+			children.add(erx(y, x)); // exchange parent roles for 2nd child
+		}
+	}
+
+	/**
+	 * Edge Recombination Crossover
+	 * @param x primer padre (da el nodo inicial si no hay origen implicito)
+	 * @param y segundo padre
+	 * @return hijo
+	 */
+	private IndividuoPerm erx(int[] x, int[] y) {
+		int n = x.length;
+		Tablas t = TABLAS.get();
+		t.prepara(maximo(x) + 1);
+		int[] vec = t.vecinos, grado = t.grado, pend = t.pendientes, posPend = t.posPendiente;
+		boolean[] comun = t.comun;
+
+		// nodos del ciclo: los genes (y el 0 si el origen es implicito)
+		int nPend = 0;
+		if (origenImplicito) {
+			grado[0] = 0;
+			posPend[0] = nPend;
+			pend[nPend++] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			grado[x[i]] = 0;
+			posPend[x[i]] = nPend;
+			pend[nPend++] = x[i];
+		}
+		// tabla de vecinos: union de las aristas de los dos padres
+		aniadeAristas(t, x);
+		aniadeAristas(t, y);
+
+		int[] child = new int[n];
+		int k = (origenImplicito ? -1 : 0); // posicion del hijo (-1: el origen, que no se guarda)
+		int actual = (origenImplicito ? 0 : x[0]);
+		while (true) {
+			// actual queda visitado: se quita de pendientes y de las listas de sus vecinos
+			int p = posPend[actual];
+			int ultimo = pend[--nPend];
+			pend[p] = ultimo;
+			posPend[ultimo] = p;
+			for (int j = 0; j < grado[actual]; j++) {
+				quitaVecino(t, vec[actual * MAX_VECINOS + j], actual);
+			}
+			if (k >= 0) {
+				child[k] = actual;
+			}
+			k++;
+			if (nPend == 0) {
+				break;
+			}
+			// siguiente: arista comun; si no, el vecino con menos vecinos pendientes
+			int siguiente = -1;
+			int empates = 0;
+			boolean sigComun = false;
+			for (int j = 0; j < grado[actual]; j++) {
+				int v = vec[actual * MAX_VECINOS + j];
+				boolean c = comun[actual * MAX_VECINOS + j];
+				if (siguiente < 0 || (c && !sigComun) || (c == sigComun && grado[v] < grado[siguiente])) {
+					siguiente = v;
+					sigComun = c;
+					empates = 1;
+				} else if (c == sigComun && grado[v] == grado[siguiente] && Util.randomInt(++empates) == 0) {
+					siguiente = v; // desempate aleatorio uniforme
+				}
+			}
+			if (siguiente < 0) { // sin vecinos pendientes: un nodo pendiente al azar
+				siguiente = pend[Util.randomInt(nPend)];
+			}
+			actual = siguiente;
+		}
+		return new IndividuoPerm(child);
+	}
+
+	/**
+	 * aniadeAristas
+	 * Aniade a la tabla de vecinos las aristas del ciclo de un padre
+	 */
+	private void aniadeAristas(Tablas t, int[] genes) {
+		int n = genes.length;
+		if (origenImplicito) {
+			aniadeArista(t, 0, genes[0]);
+			for (int i = 0; i < n - 1; i++) {
+				aniadeArista(t, genes[i], genes[i + 1]);
+			}
+			aniadeArista(t, genes[n - 1], 0);
+		} else {
+			for (int i = 0; i < n; i++) {
+				aniadeArista(t, genes[i], genes[(i + 1) % n]);
+			}
+		}
+	}
+
+	private static void aniadeArista(Tablas t, int a, int b) {
+		if (a != b) {
+			aniadeVecino(t, a, b);
+			aniadeVecino(t, b, a);
+		}
+	}
+
+	/**
+	 * aniadeVecino
+	 * Aniade b a la lista de a, o la marca como comun si ya estaba
+	 */
+	private static void aniadeVecino(Tablas t, int a, int b) {
+		int base = a * MAX_VECINOS;
+		for (int j = 0; j < t.grado[a]; j++) {
+			if (t.vecinos[base + j] == b) {
+				t.comun[base + j] = true;
+				return;
+			}
+		}
+		t.vecinos[base + t.grado[a]] = b;
+		t.comun[base + t.grado[a]] = false;
+		t.grado[a]++;
+	}
+
+	/**
+	 * quitaVecino
+	 * Quita b de la lista de a (si esta)
+	 */
+	private static void quitaVecino(Tablas t, int a, int b) {
+		int base = a * MAX_VECINOS;
+		for (int j = 0; j < t.grado[a]; j++) {
+			if (t.vecinos[base + j] == b) {
+				int ultimo = base + (--t.grado[a]);
+				t.vecinos[base + j] = t.vecinos[ultimo];
+				t.comun[base + j] = t.comun[ultimo];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Espacio de trabajo reutilizable de un hilo: tabla de vecinos plana (4
+	 * casillas por nodo) y conjunto de nodos pendientes con borrado en O(1)
+	 */
+	private static final class Tablas {
+		int[] vecinos = new int[0]; // vecinos[v*4 + j]: j-esimo vecino de v
+		boolean[] comun = new boolean[0]; // si esa arista esta en los dos padres
+		int[] grado = new int[0]; // numero de vecinos (pendientes) de cada nodo
+		int[] pendientes = new int[0]; // nodos por visitar
+		int[] posPendiente = new int[0]; // posicion de cada nodo en pendientes
+
+		void prepara(int tam) {
+			if (grado.length < tam) {
+				vecinos = new int[tam * MAX_VECINOS];
+				comun = new boolean[tam * MAX_VECINOS];
+				grado = new int[tam];
+				pendientes = new int[tam];
+				posPendiente = new int[tam];
+			}
+		}
+	}
+}
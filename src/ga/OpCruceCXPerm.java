@@ -0,0 +1,51 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpCruceCXPerm
+ * cruce por ciclos (CX, Oliver, Smith y Holland 1987) sobre int[]: las
+ * posiciones se reparten en los ciclos de la correspondencia x[i] -> y[i] y el
+ * primer hijo toma los ciclos alternos de x y de y (el segundo, al reves), asi
+ * que cada gen conserva la posicion que tenia en uno de los padres. No usa
+ * puntos de cruce aleatorios. Con el indice valor -> posicion de x y el
+ * conjunto de marcas (posiciones visitadas) cada hijo cuesta O(n).
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpCruceCXPerm extends OpCrucePerm {
+
+	@Override
+	protected void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children) {
+		int n = x.length;
+		int[] hijo1 = new int[n];
+		int[] hijo2 = (nchildren == 2 ? new int[n] : null);
+		Auxiliar aux = auxiliar(x);
+		int[] posX = aux.pos;
+		for (int i = 0; i < n; i++) {
+			posX[x[i]] = i;
+		}
+		// aux marca las posiciones ya asignadas (los valores de posicion van de
+		// 0 a n-1 y los genes de x llegan al menos hasta n-1, asi que caben)
+		boolean deX = true; // el ciclo actual del primer hijo viene de x
+		for (int inicio = 0; inicio < n; inicio++) {
+			if (aux.marcado(inicio)) {
+				continue;
+			}
+			int i = inicio;
+			do {
+				aux.marca(i);
+				hijo1[i] = (deX ? x[i] : y[i]);
+				if (hijo2 != null) {
+					hijo2[i] = (deX ? y[i] : x[i]);
+				}
+				i = posX[y[i]];
+			} while (i != inicio);
+			deX = !deX;
+		}
+		children.add(new IndividuoPerm(hijo1));
+		if (hijo2 != null) {
+			children.add(new IndividuoPerm(hijo2));
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpCrucePMXPerm
+ * cruce PMX (Partially Mapped Crossover, Goldberg y Lingle 1985) sobre int[]:
+ * el hijo hereda del primer padre el tramo entre dos puntos de cruce (con su
+ * posicion) y del segundo el resto de posiciones; si el gen del segundo padre
+ * ya esta en el tramo, se sigue la correspondencia tramo x -> tramo y hasta
+ * dar con uno que no lo este. Con el indice valor -> posicion del primer
+ * padre cada paso es O(1) y las cadenas de correspondencias son disjuntas, asi
+ * que cada hijo cuesta O(n).
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpCrucePMXPerm extends OpCrucePerm {
+
+	@Override
+	protected void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children) {
+		// Generate two random crossover points
+		int c1 = Util.randomInt(x.length - 1); // first crossover point
+		int c2 = c1 + 1 + Util.randomInt(x.length - c1 - 1); // second crossover point
+
+		children.add(pmx(c1, c2, x, y));
+		if (nchildren == 2) {
+			children.add(pmx(c1, c2, y, x)); // exchange parent roles for 2nd child
+		}
+	}
+
+	/**
+	 * Partially Mapped Crossover
+	 * 
+	 * @param c1 first crossover point
+	 * @param c2 second crossover point (inclusive)
+	 * @param x  parent that gives the segment
+	 * @param y  parent that gives the rest
+	 * @return child
+	 */
+	private IndividuoPerm pmx(int c1, int c2, int[] x, int[] y) {
+		int n = x.length;
+		int[] child = new int[n];
+		Auxiliar aux = auxiliar(x);
+		int[] posX = aux.pos;
+		for (int i = 0; i < n; i++) {
+			posX[x[i]] = i;
+		}
+		for (int i = 0; i < n; i++) {
+			if (i >= c1 && i <= c2) {
+				child[i] = x[i];
+			} else {
+				int gene = y[i];
+				int p = posX[gene];
+				while (p >= c1 && p <= c2) { // gene already in the segment: follow the mapping
+					gene = y[p];
+					p = posX[gene];
+				}
+				child[i] = gene;
+			}
+		}
+		return new IndividuoPerm(child);
+	}
+}
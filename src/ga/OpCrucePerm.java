@@ -0,0 +1,116 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase OpCrucePerm
+ * Base de los operadores de cruce de permutaciones sobre int[] (OX, PMX, CX...).
+ * Obtiene los genes de los padres sin copiarlos (IndividuoPerm.genesDe) y
+ * ofrece a cada hilo un espacio de trabajo reutilizable: un array de marcas
+ * indexado por valor (un conjunto que se vacia en O(1) cambiando de sello) y
+ * un indice valor -> posicion. Asi cada hijo cuesta O(n) sin reservar mas
+ * memoria que la del propio hijo.
+ *
+ * Los genes deben ser enteros no negativos (en el TSP, los ids de ciudad).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public abstract class OpCrucePerm extends OpCruce<Integer> {
+
+	// espacio de trabajo de cada hilo (los operadores se comparten entre hilos)
+	private static final ThreadLocal<Auxiliar> AUXILIAR = ThreadLocal.withInitial(Auxiliar::new);
+
+	/* (non-Javadoc)
+	 * @see ga.OpCruce#apply(int, ga.Individuo, ga.Individuo)
+	 */
+	@Override
+	public List<Individuo<Integer>> apply(int nchildren, Individuo<Integer> parent1, Individuo<Integer> parent2) {
+		assert (nchildren > 0 && nchildren <= 2); // can generate 1 or 2 children
+		List<Individuo<Integer>> children = new ArrayList<>(nchildren);
+		int[] x = IndividuoPerm.genesDe(parent1);
+		int[] y = IndividuoPerm.genesDe(parent2);
+		cruza(nchildren, x, y, children);
+		return children;
+	}
+
+	/**
+	 * cruza
+	 * Genera los hijos de x e y y los aniade a children
+	 * @param nchildren numero de hijos (1 o 2)
+	 * @param x         genes del primer padre (no se modifican)
+	 * @param y         genes del segundo padre (no se modifican)
+	 * @param children  lista en la que se aniaden los hijos
+	 */
+	protected abstract void cruza(int nchildren, int[] x, int[] y, List<Individuo<Integer>> children);
+
+	/**
+	 * @param genes un cromosoma (para dimensionar las marcas y el indice)
+	 * @return el espacio de trabajo del hilo actual, con sitio para los valores de
+	 *         genes y el conjunto de marcas vacio
+	 */
+	protected static Auxiliar auxiliar(int[] genes) {
+		Auxiliar aux = AUXILIAR.get();
+		aux.asegura(maximo(genes) + 1);
+		aux.vacia();
+		return aux;
+	}
+
+	/**
+	 * @return el mayor valor de un cromosoma
+	 */
+	static int maximo(int[] genes) {
+		int max = 0;
+		for (int g : genes) {
+			if (g > max) {
+				max = g;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Espacio de trabajo reutilizable de un hilo
+	 */
+	protected static final class Auxiliar {
+		private int[] marca = new int[0]; // marca[v] == sello: v esta en el conjunto
+		private int sello; // sello del conjunto actual
+		/** indice valor -> posicion (lo rellena quien lo usa) */
+		public int[] pos = new int[0];
+
+		private void asegura(int tam) {
+			if (marca.length < tam) {
+				marca = new int[tam];
+				pos = new int[tam];
+				sello = 0;
+			}
+		}
+
+		/**
+		 * Vacia el conjunto de valores marcados (en O(1))
+		 */
+		public void vacia() {
+			if (++sello == 0) { // se ha dado la vuelta: limpiamos de verdad
+				Arrays.fill(marca, 0);
+				sello = 1;
+			}
+		}
+
+		/**
+		 * @param v valor a aniadir al conjunto
+		 */
+		public void marca(int v) {
+			marca[v] = sello;
+		}
+
+		/**
+		 * @param v un valor
+		 * @return true si v esta en el conjunto
+		 */
+		public boolean marcado(int v) {
+			return marca[v] == sello;
+		}
+	}
+}
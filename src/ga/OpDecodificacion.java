@@ -15,5 +15,16 @@ public interface OpDecodificacion<A> {
 	 * @returns la solucion (fenotipo), es decir, el cromosoma decodificado
 	 */
 	public Solucion apply ( Individuo<A> cromosoma );
-	
+
+	/**
+	 * fitness
+	 * @param cromosoma
+	 * 			el cromosoma o individuo a evaluar
+	 * @returns el fitness de la solucion que representa; por defecto decodifica el
+	 * 			cromosoma, pero un decodificador puede calcularlo sin construir la solucion
+	 */
+	public default double fitness ( Individuo<A> cromosoma ) {
+		return apply(cromosoma).getFitness();
+	}
+
 }
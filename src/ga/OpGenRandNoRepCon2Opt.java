@@ -6,7 +6,10 @@ import tsp.BusquedaLocal2Opt;
 /**
  * Clase OpGenRandNoRepCon2Opt
  * Genera un nuevo cromosoma aleatorio sin repeticiones y opcionalmente aplica
- * busqueda local 2-opt para mejorarlo (Lamarckismo)
+ * busqueda local 2-opt para mejorarlo (Lamarckismo). La busqueda se hace al
+ * crear cada individuo, uno a uno y en el hilo del GA; para repartirla entre
+ * varios hilos, generar sin busqueda y usar AlgoritmoGenetico.setMejora con un
+ * tsp.MejoraLocalLote.
  * 
  * @param A el tipo de los elementos del cromosoma
  * @author Ian Saucedo
@@ -21,7 +24,8 @@ public class OpGenRandNoRepCon2Opt<A> extends OpGeneracion<A> {
    * 
    * @param alphabet         alfabeto de simbolos
    * @param indLength        longitud del individuo
-   * @param busquedaLocal    instancia de busqueda local 2-opt
+   * @param busquedaLocal    instancia de busqueda local 2-opt (o una ampliada,
+   *                         como BusquedaLocalOr3Opt)
    * @param probabilidad2Opt probabilidad de aplicar 2-opt (entre 0 y 1)
    */
   public OpGenRandNoRepCon2Opt(List<A> alphabet, int indLength, BusquedaLocal2Opt busquedaLocal,
@@ -51,7 +55,7 @@ public class OpGenRandNoRepCon2Opt<A> extends OpGeneracion<A> {
     Individuo<A> individuo = new Individuo<A>(ind);
 
     // Aplica busqueda local 2-opt con cierta probabilidad
-    if (Math.random() < probabilidad2Opt && busquedaLocal != null) {
+    if (Util.randomDouble() < probabilidad2Opt && busquedaLocal != null) {
       @SuppressWarnings("unchecked")
       Individuo<Integer> individuoInt = (Individuo<Integer>) individuo;
       Individuo<Integer> mejorado = busquedaLocal.mejorar(individuoInt);
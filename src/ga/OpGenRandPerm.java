@@ -0,0 +1,36 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * Clase OpGenRandPerm
+ * genera un nuevo cromosoma aleatorio sin repeticiones como IndividuoPerm (int[])
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpGenRandPerm extends OpGeneracion<Integer> {
+	private final int[] simbolos; // el alfabeto "desboxeado"
+
+	public OpGenRandPerm(List<Integer> alphabet, int indLength) {
+		super(alphabet, indLength);
+		// it only makes sense if the individual's length equals the number of distinct elements in the alphabet
+		assert (alphabet.size() == indLength);
+		simbolos = new int[indLength];
+		for (int i = 0; i < indLength; i++) {
+			simbolos[i] = alphabet.get(i);
+		}
+	}
+
+	@Override
+	public IndividuoPerm apply() {
+		// Genera un cromosoma SIN repeticiones (Fisher-Yates sobre una copia del alfabeto)
+		int[] genes = simbolos.clone();
+		for (int i = genes.length - 1; i > 0; i--) {
+			int j = Util.randomInt(i + 1);
+			int a = genes[i];
+			genes[i] = genes[j];
+			genes[j] = a;
+		}
+		return new IndividuoPerm(genes);
+	}
+}
@@ -0,0 +1,29 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * OpMejora
+ * Clase abstracta para los operadores que mejoran de una vez un lote de
+ * individuos (por ejemplo con una busqueda local), de forma que el operador
+ * puede repartir el trabajo entre varios hilos. El GA lo aplica, si se le
+ * asigna con setMejora, a la poblacion inicial y/o a los hijos de cada
+ * generacion antes de evaluarlos.
+ * @param A el tipo de los elementos del cromosoma
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public abstract class OpMejora<A> {
+
+	/**
+	 * apply
+	 * Mejora un lote de individuos. La lista de entrada no se modifica, ni
+	 * tampoco sus individuos.
+	 * @param individuos los individuos a mejorar
+	 * @return una lista del mismo tamanio con, en cada posicion, el individuo
+	 *         mejorado (ya evaluado si el operador conoce su fitness) o el
+	 *         original si no se ha tocado
+	 */
+	public abstract List<Individuo<A>> apply(List<Individuo<A>> individuos);
+
+}
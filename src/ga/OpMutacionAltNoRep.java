@@ -4,7 +4,7 @@
  */
 package ga;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,16 +27,16 @@ public class OpMutacionAltNoRep<A> extends OpMutacion<A> {
 	 */
 	@Override
 	public Individuo<A> apply(Individuo<A> individual ) {			
-			List<A> x = new LinkedList<A>(individual.getRepresentation());
+			List<A> x = new ArrayList<A>(individual.getRepresentation()); // acceso por indice O(1)
 			int pos = Util.randomInt(individual.length());// posicion a modificar
 			int nValPos = Util.randomInt(finiteAlphabet.size());
 			A nVal = finiteAlphabet.get(nValPos);// nuevo valor aleatorio de entre todos los posibles
 			A oldVal = x.get(pos);
+			// reparar para evitar repeticiones: el valor antiguo va donde estaba el nuevo
+			int i = x.indexOf(nVal); // compara con equals, no por referencia
+			if (i >= 0)
+				x.set(i,oldVal);
 			x.set(pos,nVal);
-			// reparar para evitar repeticiones
-			int i=0;
-			while(x.get(i)!=nVal) i++;
-			x.set(i,oldVal);
 			return (new Individuo<A>(x));
 		}
 	}
@@ -0,0 +1,33 @@
+package ga;
+
+/**
+ * OpMutacionInsercionPerm
+ * Mutacion por insercion (desplazamiento): saca el gen de una posicion
+ * aleatoria y lo inserta en otra, desplazando los de en medio
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionInsercionPerm extends OpMutacionPerm {
+
+	@Override
+	public void muta(int[] x, int[] rango) {
+		if (x.length < 2) {
+			sinCambios(rango);
+			return;
+		}
+		int origen = Util.randomInt(x.length); // posicion del gen que se mueve
+		int destino = Util.randomInt(x.length - 1); // posicion final, distinta del origen
+		if (destino >= origen) {
+			destino++;
+		}
+		if (origen < destino) {
+			rota(x, origen, origen + 1, destino); // x[origen+1..destino] avanzan una posicion
+			rango[0] = origen;
+			rango[1] = destino;
+		} else {
+			rota(x, destino, origen, origen); // x[destino..origen-1] retroceden una posicion
+			rango[0] = destino;
+			rango[1] = origen;
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package ga;
+
+/**
+ * OpMutacionInversionPerm
+ * Mutacion por inversion (como un movimiento 2-opt aleatorio): invierte el
+ * tramo entre dos posiciones aleatorias. En un TSP simetrico solo cambian las
+ * dos aristas de los extremos del tramo.
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionInversionPerm extends OpMutacionPerm {
+
+	@Override
+	public void muta(int[] x, int[] rango) {
+		if (x.length < 2) {
+			sinCambios(rango);
+			return;
+		}
+		dosPosiciones(x.length, rango);
+		invierte(x, rango[0], rango[1]);
+	}
+}
@@ -0,0 +1,60 @@
+package ga;
+
+/**
+ * OpMutacionOrOptPerm
+ * Mutacion or-opt: mueve un tramo de 1 a maxLongitud genes consecutivos (3 por
+ * defecto, como en el or-opt clasico) a otra posicion aleatoria, conservando
+ * su orden
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionOrOptPerm extends OpMutacionPerm {
+	private final int maxLongitud; // longitud maxima del tramo que se mueve
+
+	/**
+	 * Constructor (tramos de 1 a 3 genes)
+	 */
+	public OpMutacionOrOptPerm() {
+		this(3);
+	}
+
+	/**
+	 * Constructor
+	 * @param maxLongitud longitud maxima del tramo que se mueve (>= 1)
+	 */
+	public OpMutacionOrOptPerm(int maxLongitud) {
+		if (maxLongitud < 1) {
+			throw new IllegalArgumentException("La longitud maxima del tramo debe ser al menos 1: " + maxLongitud);
+		}
+		this.maxLongitud = maxLongitud;
+	}
+
+	@Override
+	public void muta(int[] x, int[] rango) {
+		int n = x.length;
+		if (n < 2) {
+			sinCambios(rango);
+			return;
+		}
+		int lon = 1 + Util.randomInt(Math.min(maxLongitud, n - 1)); // longitud del tramo
+		// el tramo empieza en una de las n-lon+1 posiciones posibles y se lleva a otra
+		dosPosiciones(n - lon + 1, rango);
+		int desde, destino;
+		if (Util.randomBoolean()) {
+			desde = rango[0];
+			destino = rango[1];
+		} else {
+			desde = rango[1];
+			destino = rango[0];
+		}
+		if (desde < destino) {
+			rota(x, desde, desde + lon, destino + lon - 1); // el tramo avanza
+			rango[0] = desde;
+			rango[1] = destino + lon - 1;
+		} else {
+			rota(x, destino, desde, desde + lon - 1); // el tramo retrocede
+			rango[0] = destino;
+			rango[1] = desde + lon - 1;
+		}
+	}
+}
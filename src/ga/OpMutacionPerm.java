@@ -0,0 +1,84 @@
+package ga;
+
+/**
+ * Clase OpMutacionPerm
+ * Base de los operadores de mutacion de permutaciones sobre int[] (inversion,
+ * insercion, scramble, or-opt...): apply copia una sola vez el array del padre
+ * y lo muta en el sitio con acceso O(1) por indice.
+ *
+ * Cada mutacion informa del rango de posiciones [desde, hasta] que ha cambiado:
+ * fuera de el la ruta queda igual, asi que solo cambian las aristas entre las
+ * posiciones desde-1 y hasta+1 y el coste se puede actualizar recorriendo solo
+ * ese tramo (ver tsp.OpMutacionRangoDelta).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public abstract class OpMutacionPerm extends OpMutacion<Integer> {
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacion#apply(ga.Individuo)
+	 */
+	@Override
+	public Individuo<Integer> apply(Individuo<Integer> individual) {
+		int[] x = IndividuoPerm.genesDe(individual).clone();
+		muta(x, new int[2]);
+		return new IndividuoPerm(x);
+	}
+
+	/**
+	 * muta
+	 * Muta la permutacion en el sitio
+	 * @param x     los genes (se modifican)
+	 * @param rango salida: rango[0] y rango[1] son la primera y la ultima posicion
+	 *              que pueden haber cambiado (rango[0] > rango[1] si no cambia nada)
+	 */
+	public abstract void muta(int[] x, int[] rango);
+
+	/**
+	 * invierte
+	 * Invierte el tramo x[desde..hasta] en el sitio
+	 */
+	protected static void invierte(int[] x, int desde, int hasta) {
+		while (desde < hasta) {
+			int aux = x[desde];
+			x[desde++] = x[hasta];
+			x[hasta--] = aux;
+		}
+	}
+
+	/**
+	 * rota
+	 * Intercambia los tramos contiguos x[desde..medio-1] y x[medio..hasta] en el
+	 * sitio (tres inversiones, O(hasta-desde))
+	 */
+	protected static void rota(int[] x, int desde, int medio, int hasta) {
+		invierte(x, desde, medio - 1);
+		invierte(x, medio, hasta);
+		invierte(x, desde, hasta);
+	}
+
+	/**
+	 * dosPosiciones
+	 * Elige dos posiciones distintas aleatorias de un cromosoma de tamanio n
+	 * (n >= 2) y las deja en orden en pos: pos[0] < pos[1]
+	 */
+	protected static void dosPosiciones(int n, int[] pos) {
+		int i = Util.randomInt(n);
+		int j = Util.randomInt(n - 1);
+		if (j >= i) {
+			j++;
+		}
+		pos[0] = Math.min(i, j);
+		pos[1] = Math.max(i, j);
+	}
+
+	/**
+	 * sinCambios
+	 * Deja en rango un rango vacio (la mutacion no ha cambiado nada)
+	 */
+	protected static void sinCambios(int[] rango) {
+		rango[0] = 0;
+		rango[1] = -1;
+	}
+}
@@ -0,0 +1,27 @@
+package ga;
+
+/**
+ * OpMutacionScramblePerm
+ * Mutacion "scramble": baraja los genes del tramo entre dos posiciones
+ * aleatorias
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionScramblePerm extends OpMutacionPerm {
+
+	@Override
+	public void muta(int[] x, int[] rango) {
+		if (x.length < 2) {
+			sinCambios(rango);
+			return;
+		}
+		dosPosiciones(x.length, rango);
+		// Fisher-Yates sobre x[rango[0]..rango[1]]
+		for (int i = rango[1]; i > rango[0]; i--) {
+			int j = rango[0] + Util.randomInt(i - rango[0] + 1);
+			int aux = x[i];
+			x[i] = x[j];
+			x[j] = aux;
+		}
+	}
+}
@@ -1,6 +1,6 @@
 package ga;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,7 +17,7 @@ public class OpMutacionSwap<A> extends OpMutacion<A> {
 	 */
 	@Override
 	public Individuo<A> apply(Individuo<A> individual ) {			
-			List<A> x = new LinkedList<A>(individual.getRepresentation());
+			List<A> x = new ArrayList<A>(individual.getRepresentation()); // acceso por indice O(1)
 			int pos1 = Util.randomInt(individual.length());// posicion del primer elemento a intercambiar
 			int pos2 = Util.randomInt(individual.length());// posicion del segundo elemento a intercambiar			
 			// swap elements at positions pos2 and pos2
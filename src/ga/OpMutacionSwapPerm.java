@@ -0,0 +1,25 @@
+package ga;
+
+/**
+ * OpMutacionSwapPerm
+ * Clase del operador de mutacion "swap" (como OpMutacionSwap) sobre int[]:
+ * copia el array del padre e intercambia dos posiciones en O(1)
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionSwapPerm extends OpMutacionPerm {
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacionPerm#muta(int[], int[])
+	 */
+	@Override
+	public void muta(int[] x, int[] rango) {
+		int pos1 = Util.randomInt(x.length); // posicion del primer elemento a intercambiar
+		int pos2 = Util.randomInt(x.length); // posicion del segundo elemento a intercambiar
+		int aux = x[pos1];
+		x[pos1] = x[pos2];
+		x[pos2] = aux;
+		rango[0] = Math.min(pos1, pos2);
+		rango[1] = Math.max(pos1, pos2);
+	}
+}
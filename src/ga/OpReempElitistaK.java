@@ -0,0 +1,159 @@
+package ga;
+
+import java.util.List;
+
+/**Clase que implementa el reemplazo generacional con elitismo de k individuos:
+ * los hijos sustituyen a la poblacion original, salvo que los k mejores de la
+ * generacion original ocupan el lugar de los k peores hijos (cada elite solo
+ * sustituye a un hijo peor que el). Con k=1 generaliza a OpReempGenElitista.
+ *
+ * Los k mejores padres y los k peores hijos se buscan con monticulos acotados
+ * de tamanio k sobre arrays de fitness (O(n log k), sin ordenar la poblacion y
+ * sin crear objetos). En la misma pasada se obtiene el mejor
+ * de la nueva poblacion, que se guarda para que el GA no tenga que buscarlo
+ * (getMejorPoblacion).
+ * @author Ian Saucedo
+ * @param <A> el tipo de los elementos del cromosoma
+ * @version 2025.11
+ *
+ */
+public class OpReempElitistaK<A> extends OpReemplazo<A> {
+	private final int k; // numero de elites
+	// monticulos de minimos acotados: claves y posiciones
+	private final double[] claveElite, claveHijo;
+	private final int[] posElite, posHijo;
+	private Individuo<A> mejor; // mejor de la ultima poblacion devuelta
+
+	/**
+	 * Constructor
+	 * @param k el numero de mejores individuos que se conservan (al menos 0)
+	 */
+	public OpReempElitistaK(int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("El numero de elites no puede ser negativo: " + k);
+		}
+		this.k = k;
+		this.claveElite = new double[k];
+		this.claveHijo = new double[k];
+		this.posElite = new int[k];
+		this.posHijo = new int[k];
+	}
+
+	@Override
+	public List<Individuo<A>> apply(List<Individuo<A>> oldPopulation, List<Individuo<A>> offspring) {
+		int ke = Math.min(k, Math.min(oldPopulation.size(), offspring.size()));
+		// k mejores padres (claves = fitness)
+		int nElite = 0;
+		for (int i = 0; i < oldPopulation.size(); i++) {
+			nElite = ofrece(claveElite, posElite, nElite, ke, oldPopulation.get(i).getFitness(), i);
+		}
+		// k peores hijos (claves = -fitness) y mejor hijo
+		int nHijo = 0;
+		int iMejor = -1;
+		double fMejor = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < offspring.size(); i++) {
+			double f = offspring.get(i).getFitness();
+			if (f > fMejor || iMejor < 0) {
+				fMejor = f;
+				iMejor = i;
+			}
+			nHijo = ofrece(claveHijo, posHijo, nHijo, ke, -f, i);
+		}
+		mejor = (iMejor >= 0 ? offspring.get(iMejor) : null);
+		// ordenamos en el sitio: elites de mejor a peor e hijos de peor a mejor, y
+		// emparejamos la mejor elite con el peor hijo, la segunda con el segundo...
+		ordenaMonticulo(claveElite, posElite, nElite);
+		ordenaMonticulo(claveHijo, posHijo, nHijo);
+		for (int j = 0; j < nElite && j < nHijo; j++) {
+			Individuo<A> elite = oldPopulation.get(posElite[j]);
+			int pos = posHijo[j];
+			if (elite.getFitness() <= offspring.get(pos).getFitness()) {
+				break; // las siguientes elites son peores y los siguientes hijos mejores
+			}
+			offspring.set(pos, elite);
+			if (elite.getFitness() > fMejor) {
+				fMejor = elite.getFitness();
+				mejor = elite;
+			}
+		}
+		return offspring;
+	}
+
+	@Override
+	public Individuo<A> getMejorPoblacion() {
+		return mejor;
+	}
+
+	/**
+	 * @return el numero de elites
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * ofrece
+	 * Mantiene en el monticulo de minimos (clave, pos)[0, tam) las (como mucho)
+	 * cap claves mayores vistas hasta ahora
+	 * @return el nuevo tamanio del monticulo
+	 */
+	private static int ofrece(double[] clave, int[] pos, int tam, int cap, double c, int p) {
+		if (tam < cap) {
+			int i = tam++;
+			while (i > 0) { // flotar
+				int padre = (i - 1) >>> 1;
+				if (clave[padre] <= c) {
+					break;
+				}
+				clave[i] = clave[padre];
+				pos[i] = pos[padre];
+				i = padre;
+			}
+			clave[i] = c;
+			pos[i] = p;
+		} else if (cap > 0 && c > clave[0]) {
+			hunde(clave, pos, tam, c, p);
+		}
+		return tam;
+	}
+
+	/**
+	 * ordenaMonticulo
+	 * Heapsort en el sitio: deja (clave, pos)[0, tam) de mayor a menor clave
+	 */
+	private static void ordenaMonticulo(double[] clave, int[] pos, int tam) {
+		for (int j = tam - 1; j > 0; j--) {
+			double c = clave[j];
+			int p = pos[j];
+			clave[j] = clave[0]; // el minimo va al final
+			pos[j] = pos[0];
+			hunde(clave, pos, j, c, p);
+		}
+	}
+
+	/**
+	 * hunde
+	 * Coloca (c, p) en la raiz y lo hunde hasta su sitio
+	 */
+	private static void hunde(double[] clave, int[] pos, int tam, double c, int p) {
+		int i = 0;
+		while (true) {
+			int hijo = 2 * i + 1;
+			if (hijo >= tam) {
+				break;
+			}
+			if (hijo + 1 < tam && clave[hijo + 1] < clave[hijo]) {
+				hijo++;
+			}
+			if (clave[hijo] >= c) {
+				break;
+			}
+			clave[i] = clave[hijo];
+			pos[i] = pos[hijo];
+			i = hijo;
+		}
+		clave[i] = c;
+		pos[i] = p;
+	}
+
+}
@@ -0,0 +1,38 @@
+/**
+ * Operador de reemplazo estacionario
+ */
+package ga;
+
+import java.util.List;
+
+/** OpReempEstacionario
+ * Clase abstracta para los operadores de reemplazo del GA estacionario: cada
+ * hijo se inserta en la propia poblacion (en el sitio de un individuo peor) en
+ * lugar de construir una poblacion nueva en cada generacion
+ * @author Ian Saucedo
+ * @param A el tipo de los elementos del cromosoma
+ * @version 2025.11
+ */
+public abstract class OpReempEstacionario<A> extends OpReemplazo<A> {
+
+	/**
+	 * apply
+	 * @param population la poblacion (se modifica en el sitio)
+	 * @param hijo un hijo ya evaluado
+	 * @return la posicion de la poblacion que ocupa ahora el hijo, o -1 si se descarta
+	 */
+	abstract public int apply(List<Individuo<A>> population, Individuo<A> hijo);
+
+	/**
+	 * Version generacional: inserta uno a uno los hijos en la poblacion anterior
+	 * @return la poblacion anterior, modificada en el sitio
+	 */
+	@Override
+	public List<Individuo<A>> apply(List<Individuo<A>> oldPopulation, List<Individuo<A>> offspring) {
+		for (Individuo<A> hijo : offspring) {
+			apply(oldPopulation, hijo);
+		}
+		return oldPopulation;
+	}
+
+}
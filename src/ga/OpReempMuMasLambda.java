@@ -0,0 +1,63 @@
+package ga;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**Clase que implementa el reemplazo (mu+lambda): padres (mu) e hijos (lambda)
+ * compiten juntos y pasan a la siguiente generacion los mu mejores.
+ *
+ * Los supervivientes se eligen con seleccion parcial (quickselect) sobre un
+ * array de fitness, en tiempo lineal en promedio y sin ordenar a todos. Los
+ * arrays auxiliares se reutilizan entre generaciones. El mejor superviviente
+ * se guarda para que el GA no tenga que buscarlo (getMejorPoblacion).
+ * @author Ian Saucedo
+ * @param <A> el tipo de los elementos del cromosoma
+ * @version 2025.11
+ *
+ */
+public class OpReempMuMasLambda<A> extends OpReemplazo<A> {
+	private double[] fitness = new double[0]; // fitness de padres e hijos
+	private int[] idx = new int[0]; // indices (0..mu-1 padres, mu.. hijos)
+	private Individuo<A> mejor; // mejor de la ultima poblacion devuelta
+
+	@Override
+	public List<Individuo<A>> apply(List<Individuo<A>> oldPopulation, List<Individuo<A>> offspring) {
+		int mu = oldPopulation.size();
+		int total = mu + offspring.size();
+		if (fitness.length < total) {
+			fitness = new double[total];
+			idx = new int[total];
+		}
+		for (int i = 0; i < total; i++) {
+			idx[i] = i;
+			fitness[i] = individuo(oldPopulation, offspring, i).getFitness();
+		}
+		// los mu mejores quedan en idx[total-mu, total)
+		int corte = total - mu;
+		Util.particionaK(idx, fitness, 0, total, corte);
+		List<Individuo<A>> nueva = new ArrayList<>(mu);
+		int iMejor = -1;
+		for (int j = corte; j < total; j++) {
+			int i = idx[j];
+			if (iMejor < 0 || fitness[i] > fitness[iMejor]) {
+				iMejor = i;
+			}
+			nueva.add(individuo(oldPopulation, offspring, i));
+		}
+		mejor = (iMejor >= 0 ? individuo(oldPopulation, offspring, iMejor) : null);
+		return nueva;
+	}
+
+	@Override
+	public Individuo<A> getMejorPoblacion() {
+		return mejor;
+	}
+
+	/**
+	 * @return el individuo i-esimo de la union padres + hijos
+	 */
+	private static <A> Individuo<A> individuo(List<Individuo<A>> padres, List<Individuo<A>> hijos, int i) {
+		return (i < padres.size() ? padres.get(i) : hijos.get(i - padres.size()));
+	}
+
+}
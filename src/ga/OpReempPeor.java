@@ -0,0 +1,110 @@
+/**
+ *
+ */
+package ga;
+
+import java.util.List;
+
+/**Clase que implementa el reemplazo estacionario del peor: el hijo sustituye al
+ * peor individuo de la poblacion si es mejor que el. El peor se saca de un
+ * monticulo de minimos con las posiciones de la poblacion ordenadas por
+ * fitness, que se actualiza al sustituir, asi que cada hijo cuesta O(log n) en
+ * lugar de recorrer toda la poblacion.
+ *
+ * El monticulo se construye (en O(n)) la primera vez y cada vez que se le pasa
+ * otra lista u otro tamanio, asi que para quien lo usa no tiene estado. Entre
+ * dos llamadas la poblacion solo debe cambiar a traves de este operador (como
+ * en lanzaGAEstacionario): si el peor individuo se ha cambiado por otro camino
+ * se nota y se reconstruye, pero no si se ha cambiado otro. En la version
+ * generacional (apply con la lista de hijos) se construye siempre, porque
+ * entre generaciones la poblacion puede cambiar (por ejemplo, con la migracion
+ * de ModeloIslas).
+ * @author Ian Saucedo
+ * @param <A> el tipo de los elementos del cromosoma
+ * @version 2025.11
+ *
+ */
+public class OpReempPeor<A> extends OpReempEstacionario<A> {
+	private List<Individuo<A>> preparada; // poblacion para la que se construyo el monticulo
+	private int[] monticulo = new int[0]; // posiciones de la poblacion, con la de menor fitness en la raiz
+	private double[] clave = new double[0]; // fitness de cada posicion al meterla en el monticulo
+	private Object[] ocupante = new Object[0]; // individuo de cada posicion al meterla en el monticulo
+
+	@Override
+	public synchronized int apply(List<Individuo<A>> population, Individuo<A> hijo) {
+		if (population != preparada || population.size() != monticulo.length
+				|| (monticulo.length > 0 && population.get(monticulo[0]) != ocupante[monticulo[0]])) {
+			construye(population);
+		}
+		if (monticulo.length == 0) {
+			return -1;
+		}
+		int peor = monticulo[0];
+		if (hijo.getFitness() > clave[peor]) {
+			population.set(peor, hijo);
+			clave[peor] = hijo.getFitness();
+			ocupante[peor] = hijo;
+			hunde(0);
+			return peor;
+		}
+		return -1;
+	}
+
+	/**
+	 * Version generacional: reconstruye el monticulo e inserta uno a uno los hijos
+	 * @return la poblacion anterior, modificada en el sitio
+	 */
+	@Override
+	public synchronized List<Individuo<A>> apply(List<Individuo<A>> oldPopulation, List<Individuo<A>> offspring) {
+		construye(oldPopulation);
+		return super.apply(oldPopulation, offspring);
+	}
+
+	/**
+	 * Construye el monticulo de la poblacion (de abajo arriba, en O(n))
+	 */
+	private void construye(List<Individuo<A>> population) {
+		int n = population.size();
+		if (monticulo.length != n) {
+			monticulo = new int[n];
+			clave = new double[n];
+			ocupante = new Object[n];
+		}
+		for (int i = 0; i < n; i++) {
+			Individuo<A> ind = population.get(i);
+			monticulo[i] = i;
+			clave[i] = ind.getFitness();
+			ocupante[i] = ind;
+		}
+		for (int k = n / 2 - 1; k >= 0; k--) {
+			hunde(k);
+		}
+		preparada = population;
+	}
+
+	/**
+	 * Baja la posicion del nodo k del monticulo hasta que su fitness no sea mayor
+	 * que el de sus hijos
+	 */
+	private void hunde(int k) {
+		int n = monticulo.length;
+		int pos = monticulo[k];
+		double f = clave[pos];
+		while (true) {
+			int h = 2 * k + 1;
+			if (h >= n) {
+				break;
+			}
+			if (h + 1 < n && clave[monticulo[h + 1]] < clave[monticulo[h]]) {
+				h++;
+			}
+			if (!(clave[monticulo[h]] < f)) {
+				break;
+			}
+			monticulo[k] = monticulo[h];
+			k = h;
+		}
+		monticulo[k] = pos;
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * 
+ */
+package ga;
+
+import java.util.List;
+
+/**Clase que implementa el reemplazo estacionario por torneo: se eligen al azar
+ * k individuos de la poblacion y el hijo sustituye al peor de ellos si es mejor
+ * que el, con coste O(k) por hijo sea cual sea el tamanio de la poblacion
+ * @author Ian Saucedo
+ * @param <A> el tipo de los elementos del cromosoma
+ * @version 2025.11
+ *
+ */
+public class OpReempTorneo<A> extends OpReempEstacionario<A> {
+	private final int k; // tamanio del torneo
+
+	/**
+	 * @param k el numero de individuos que compiten por ser reemplazados
+	 */
+	public OpReempTorneo(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("El tamanio del torneo debe ser al menos 1");
+		}
+		this.k = k;
+	}
+
+	@Override
+	public int apply(List<Individuo<A>> population, Individuo<A> hijo) {
+		int peor = Util.randomInt(population.size());
+		double peorFValue = population.get(peor).getFitness();
+		for (int i = 1; i < k; i++) {
+			int r = Util.randomInt(population.size());
+			double fValue = population.get(r).getFitness();
+			if (fValue < peorFValue) {
+				peor = r;
+				peorFValue = fValue;
+			}
+		}
+		if (hijo.getFitness() > peorFValue) {
+			population.set(peor, hijo);
+			return peor;
+		}
+		return -1;
+	}
+
+}
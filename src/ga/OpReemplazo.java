@@ -15,4 +15,16 @@ public abstract class OpReemplazo<A> {
 
 	abstract public List<Individuo<A>> apply(List<Individuo<A>> oldPopulation, List<Individuo<A>> offspring);
 
+	/**
+	 * getMejorPoblacion
+	 * Los operadores que ya conocen el mejor individuo de la poblacion que
+	 * devuelven (porque lo encuentran al elegir los supervivientes) lo guardan
+	 * para que el GA no tenga que volver a recorrer la poblacion.
+	 * @return el mejor individuo de la poblacion devuelta por el ultimo apply, o
+	 *         null si el operador no lo conoce (por defecto)
+	 */
+	public Individuo<A> getMejorPoblacion() {
+		return null;
+	}
+
 }
@@ -0,0 +1,129 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * OpSelRangoLineal
+ * Seleccion por rango lineal: la probabilidad de cada individuo depende de su
+ * posicion al ordenar la poblacion por fitness, no del valor del fitness.
+ * Con presion s (entre 1 y 2) y n individuos, el de rango r (0 = peor) tiene
+ * probabilidad (2 - s)/n + 2r(s - 1)/(n(n - 1)): el mejor s/n y el peor (2 - s)/n.
+ *
+ * La tabla de rangos (orden de la poblacion y probabilidad acumulada por rango)
+ * se construye una vez por generacion en preparaGeneracion, sin crear objetos
+ * si el tamanio de la poblacion no cambia; cada seleccion es una busqueda
+ * binaria en O(log n) sin reservar memoria. Si la poblacion que se pasa a apply
+ * no es la preparada (otra lista u otro tamanio), la tabla se reconstruye.
+ *
+ * @param A el tipo de los elementos del cromosoma
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpSelRangoLineal<A> extends OpSeleccion<A> {
+	private final double presion; // s: numero esperado de selecciones del mejor por cada n
+	private List<Individuo<A>> preparada; // poblacion para la que se construyo la tabla
+	private int[] orden = new int[0]; // indices de la poblacion de peor a mejor fitness
+	private double[] acumulada = new double[0]; // probabilidad acumulada hasta cada rango (incluido)
+	private double[] fitness = new double[0]; // auxiliar para ordenar
+
+	/**
+	 * Constructor con presion 1.5
+	 */
+	public OpSelRangoLineal() {
+		this(1.5);
+	}
+
+	/**
+	 * Constructor
+	 * @param presion la presion selectiva s, en [1, 2] (1: seleccion uniforme)
+	 */
+	public OpSelRangoLineal(double presion) {
+		if (!(presion >= 1.0 && presion <= 2.0)) {
+			throw new IllegalArgumentException("La presion selectiva debe estar en [1, 2]: " + presion);
+		}
+		this.presion = presion;
+	}
+
+	@Override
+	public Individuo<A> apply(List<Individuo<A>> population) {
+		if (population != preparada || population.size() != orden.length) {
+			preparaGeneracion(population);
+		}
+		return population.get(orden[sorteaRango()]);
+	}
+
+	@Override
+	public boolean soportaLote() {
+		return true;
+	}
+
+	/**
+	 * seleccionaLote
+	 * Selecciona de una vez todos los padres de una generacion (n sorteos
+	 * independientes, O(log n) cada uno)
+	 */
+	@Override
+	public int[] seleccionaLote(List<Individuo<A>> population, int n) {
+		if (population != preparada || population.size() != orden.length) {
+			preparaGeneracion(population);
+		}
+		int[] indices = new int[n];
+		for (int k = 0; k < n; k++) {
+			indices[k] = orden[sorteaRango()];
+		}
+		return indices;
+	}
+
+	/**
+	 * preparaGeneracion
+	 * Ordena la poblacion por fitness y calcula la probabilidad acumulada de
+	 * cada rango
+	 */
+	@Override
+	public synchronized void preparaGeneracion(List<Individuo<A>> population) {
+		int n = population.size();
+		if (orden.length != n) {
+			orden = new int[n];
+			acumulada = new double[n];
+			fitness = new double[n];
+		}
+		for (int i = 0; i < n; i++) {
+			orden[i] = i;
+			fitness[i] = population.get(i).getFitness();
+		}
+		Util.ordenaIndices(orden, fitness, 0, n);
+		double a = (2.0 - presion) / n;
+		double b = (n > 1 ? 2.0 * (presion - 1.0) / ((double) n * (n - 1)) : 0.0);
+		double suma = 0.0;
+		for (int r = 0; r < n; r++) {
+			suma += a + b * r;
+			acumulada[r] = suma;
+		}
+		preparada = population;
+	}
+
+	/**
+	 * @return un rango (0 = peor) con probabilidad lineal en el rango
+	 */
+	private int sorteaRango() {
+		double u = Util.randomDouble() * acumulada[acumulada.length - 1];
+		// primer rango con acumulada > u
+		int ini = 0, fin = acumulada.length - 1;
+		while (ini < fin) {
+			int medio = (ini + fin) >>> 1;
+			if (acumulada[medio] > u) {
+				fin = medio;
+			} else {
+				ini = medio + 1;
+			}
+		}
+		return ini;
+	}
+
+	/**
+	 * @return la presion selectiva
+	 */
+	public double getPresion() {
+		return presion;
+	}
+}
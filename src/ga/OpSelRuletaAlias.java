@@ -0,0 +1,117 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * OpSelRuletaAlias
+ * Seleccion por ruleta (probabilidad proporcional al fitness) con el metodo
+ * alias de Walker (construccion de Vose): la tabla se construye una vez por
+ * generacion en O(n) (preparaGeneracion) y despues cada seleccion cuesta O(1),
+ * en lugar de recorrer y normalizar toda la poblacion en cada llamada como
+ * OpSelRuleta.
+ *
+ * Si la poblacion que se pasa a apply no es la preparada (otra lista u otro
+ * tamanio), la tabla se reconstruye. Una vez construida, se puede seleccionar
+ * desde varios hilos a la vez. Soporta la seleccion por lotes (seleccionaLote).
+ *
+ * @param A el tipo de los elementos del cromosoma
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpSelRuletaAlias<A> extends OpSeleccion<A> {
+	private List<Individuo<A>> preparada; // poblacion para la que se construyo la tabla
+	private double[] prob = new double[0]; // probabilidad de quedarse con la casilla i (si no, alias[i])
+	private int[] alias = new int[0]; // individuo alternativo de la casilla i
+	private int[] pilaPeq = new int[0], pilaGrande = new int[0]; // auxiliares de la construccion
+
+	@Override
+	public Individuo<A> apply(List<Individuo<A>> population) {
+		if (population != preparada || population.size() != prob.length) {
+			preparaGeneracion(population);
+		}
+		return population.get(sorteo());
+	}
+
+	@Override
+	public boolean soportaLote() {
+		return true;
+	}
+
+	/**
+	 * seleccionaLote
+	 * Selecciona de una vez todos los padres de una generacion (n sorteos
+	 * independientes en O(1) cada uno)
+	 */
+	@Override
+	public int[] seleccionaLote(List<Individuo<A>> population, int n) {
+		if (population != preparada || population.size() != prob.length) {
+			preparaGeneracion(population);
+		}
+		int[] indices = new int[n];
+		for (int k = 0; k < n; k++) {
+			indices[k] = sorteo();
+		}
+		return indices;
+	}
+
+	/**
+	 * preparaGeneracion
+	 * Construye la tabla alias de la poblacion en O(n). Si todos los fitness son
+	 * cero (o alguno no es valido) la seleccion es uniforme.
+	 */
+	@Override
+	public synchronized void preparaGeneracion(List<Individuo<A>> population) {
+		int n = population.size();
+		if (prob.length != n) {
+			prob = new double[n];
+			alias = new int[n];
+			pilaPeq = new int[n];
+			pilaGrande = new int[n];
+		}
+		double total = 0.0;
+		for (int i = 0; i < n; i++) {
+			total += population.get(i).getFitness();
+		}
+		boolean uniforme = !(total > 0.0) || Double.isInfinite(total);
+		// probabilidades escaladas para que la media sea 1
+		int nPeq = 0, nGrande = 0;
+		for (int i = 0; i < n; i++) {
+			double f = population.get(i).getFitness();
+			prob[i] = (uniforme ? 1.0 : Math.max(0.0, f) * n / total);
+			alias[i] = i;
+			if (prob[i] < 1.0) {
+				pilaPeq[nPeq++] = i;
+			} else {
+				pilaGrande[nGrande++] = i;
+			}
+		}
+		// cada casilla pequenia se completa con una grande
+		while (nPeq > 0 && nGrande > 0) {
+			int peq = pilaPeq[--nPeq];
+			int grande = pilaGrande[nGrande - 1];
+			alias[peq] = grande;
+			prob[grande] -= 1.0 - prob[peq];
+			if (prob[grande] < 1.0) {
+				nGrande--;
+				pilaPeq[nPeq++] = grande;
+			}
+		}
+		// lo que queda es 1 salvo errores de redondeo
+		while (nGrande > 0) {
+			prob[pilaGrande[--nGrande]] = 1.0;
+		}
+		while (nPeq > 0) {
+			prob[pilaPeq[--nPeq]] = 1.0;
+		}
+		preparada = population;
+	}
+
+	/**
+	 * @return un indice de la poblacion preparada, con probabilidad proporcional
+	 *         a su fitness
+	 */
+	private int sorteo() {
+		int i = Util.randomInt(prob.length);
+		return (Util.randomDouble() < prob[i] ? i : alias[i]);
+	}
+}
@@ -0,0 +1,88 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * OpSelSUS
+ * Muestreo universal estocastico (Stochastic Universal Sampling, Baker 1987):
+ * como una ruleta proporcional al fitness, pero con n punteros equiespaciados
+ * que se colocan con un unico numero aleatorio, de forma que todos los padres
+ * de la generacion se eligen en una sola pasada lineal por la poblacion. Cada
+ * individuo se selecciona floor(e) o ceil(e) veces, siendo e su numero
+ * esperado de selecciones, asi que la varianza es minima.
+ *
+ * Se usa a traves de seleccionaLote (el GA lo hace automaticamente). Los padres
+ * salen en el orden de la poblacion, asi que despues se barajan para que las
+ * parejas que se cruzan sean aleatorias. apply (un solo padre) equivale a una
+ * ruleta y cuesta O(n). No guarda estado.
+ *
+ * @param A el tipo de los elementos del cromosoma
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpSelSUS<A> extends OpSeleccion<A> {
+
+	@Override
+	public Individuo<A> apply(List<Individuo<A>> population) {
+		return population.get(seleccionaLote(population, 1)[0]);
+	}
+
+	@Override
+	public boolean soportaLote() {
+		return true;
+	}
+
+	/**
+	 * seleccionaLote
+	 * Coloca n punteros separados total/n a partir de un desplazamiento aleatorio
+	 * y recorre la poblacion una vez acumulando el fitness. Si todos los fitness
+	 * son cero (o alguno no es valido) la seleccion es uniforme. Los fitness
+	 * negativos cuentan como cero.
+	 */
+	@Override
+	public int[] seleccionaLote(List<Individuo<A>> population, int n) {
+		int[] indices = new int[n];
+		if (n == 0) {
+			return indices;
+		}
+		int tam = population.size();
+		double total = 0.0;
+		for (int i = 0; i < tam; i++) {
+			total += Math.max(0.0, population.get(i).getFitness());
+		}
+		boolean uniforme = !(total > 0.0) || Double.isInfinite(total);
+		if (uniforme) {
+			total = tam;
+		}
+		double paso = total / n;
+		double inicio = Util.randomDouble() * paso; // el unico numero aleatorio del muestreo
+		double puntero = inicio;
+		double acumulado = 0.0;
+		int k = 0;
+		for (int i = 0; i < tam && k < n; i++) {
+			acumulado += (uniforme ? 1.0 : Math.max(0.0, population.get(i).getFitness()));
+			while (k < n && puntero < acumulado) {
+				indices[k++] = i;
+				puntero = inicio + k * paso; // sin acumular errores de redondeo
+			}
+		}
+		// por redondeo, los ultimos punteros pueden quedar justo tras el final
+		while (k < n) {
+			indices[k++] = tam - 1;
+		}
+		baraja(indices);
+		return indices;
+	}
+
+	/**
+	 * Fisher-Yates en el sitio
+	 */
+	private static void baraja(int[] a) {
+		for (int i = a.length - 1; i > 0; i--) {
+			int j = Util.randomInt(i + 1);
+			int aux = a[i];
+			a[i] = a[j];
+			a[j] = aux;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package ga;
+
+import java.util.List;
+
+/**
+ * OpSelTorneo
+ * Seleccion por torneo: se eligen k individuos al azar (con reemplazo) y gana
+ * el de mayor fitness. La presion selectiva crece con k (k=1 equivale a
+ * OpSelRandom). Cada seleccion cuesta O(k) y no crea objetos; no guarda
+ * estado, asi que se puede usar desde varios hilos a la vez.
+ *
+ * @param A el tipo de los elementos del cromosoma
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpSelTorneo<A> extends OpSeleccion<A> {
+	private final int k; // tamanio del torneo
+
+	/**
+	 * Constructor
+	 * @param k el numero de individuos que compiten en cada torneo (al menos 1)
+	 */
+	public OpSelTorneo(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("El tamanio del torneo debe ser al menos 1: " + k);
+		}
+		this.k = k;
+	}
+
+	@Override
+	public Individuo<A> apply(List<Individuo<A>> population) {
+		int n = population.size();
+		Individuo<A> ganador = population.get(Util.randomInt(n));
+		for (int i = 1; i < k; i++) {
+			Individuo<A> rival = population.get(Util.randomInt(n));
+			if (rival.getFitness() > ganador.getFitness()) {
+				ganador = rival;
+			}
+		}
+		return ganador;
+	}
+
+	/**
+	 * @return el tamanio del torneo
+	 */
+	public int getK() {
+		return k;
+	}
+}
@@ -13,4 +13,41 @@ public abstract class OpSeleccion<A> {
 
 	abstract public Individuo<A> apply(List<Individuo<A>> population);
 
+	/**
+	 * preparaGeneracion
+	 * El GA lo llama una vez por generacion, antes de seleccionar los padres,
+	 * para que el operador pueda precalcular lo que necesite de la poblacion
+	 * (tablas de probabilidades, rangos...). Por defecto no hace nada.
+	 * En lanzaGA la poblacion no cambia mientras se seleccionan los padres; en
+	 * lanzaGAEstacionario se llama una vez cada tamPob/2 pasos y entre medias
+	 * los hijos van sustituyendo individuos en el sitio, asi que lo precalculado
+	 * queda algo desfasado (los operadores sin estado, como OpSelTorneo, no se
+	 * ven afectados).
+	 * @param population la poblacion (evaluada) de la que se van a seleccionar los padres
+	 */
+	public void preparaGeneracion(List<Individuo<A>> population) {
+	}
+
+	/**
+	 * soportaLote
+	 * @return true si el operador implementa seleccionaLote (el GA lo usa
+	 *         entonces para elegir todos los padres de una generacion de una vez)
+	 */
+	public boolean soportaLote() {
+		return false;
+	}
+
+	/**
+	 * seleccionaLote
+	 * Selecciona de una vez todos los padres de una generacion (la "mating pool").
+	 * Los padres se cruzan por parejas en el orden devuelto, asi que el orden
+	 * debe ser aleatorio. Solo se llama si soportaLote() devuelve true.
+	 * @param population la poblacion (evaluada)
+	 * @param n          el numero de padres
+	 * @return los indices (en population) de los n padres seleccionados
+	 */
+	public int[] seleccionaLote(List<Individuo<A>> population, int n) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " no implementa la seleccion por lotes");
+	}
+
 }
@@ -0,0 +1,24 @@
+package ga;
+
+/**
+ * OyenteGA
+ * Interfaz para los objetos que quieren recibir, al terminar cada generacion
+ * del GA, las medidas de esa generacion (tiempo de cada fase, evaluaciones,
+ * fitness y memoria reservada). Mientras un GA no tiene oyentes no se toma
+ * ninguna medida.
+ *
+ * Se llama desde el hilo que ejecuta el GA (en el modelo de islas, el hilo de
+ * la isla), asi que no deberia hacer trabajo pesado.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+@FunctionalInterface
+public interface OyenteGA {
+
+	/**
+	 * @param est las medidas de la generacion que acaba de terminar (la 0 es la
+	 *            poblacion inicial)
+	 */
+	void generacionTerminada(EstadisticasGeneracion est);
+}
@@ -0,0 +1,165 @@
+package ga;
+
+/**
+ * Clase PerfilGA
+ * OyenteGA que acumula las medidas de todas las generaciones de una ejecucion
+ * para ver que fase domina el tiempo (seleccion, cruce, mutacion, evaluacion o
+ * reemplazo) sin necesidad de un profiler externo.
+ *
+ * Uso: ga.addOyente(perfil); ga.lanzaGA(...); System.out.println(perfil);
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class PerfilGA implements OyenteGA {
+	private int generaciones; // generaciones acumuladas (sin contar la poblacion inicial)
+	private long nanosSeleccion;
+	private long nanosCruce;
+	private long nanosMutacion;
+	private long nanosCria;
+	private long nanosEvaluacion;
+	private long nanosReemplazo;
+	private long nanosTotal;
+	private long evaluaciones;
+	private long individuosCreados;
+	private long bytesReservados; // -1 si no se puede medir
+	private EstadisticasGeneracion ultima; // medidas de la ultima generacion
+
+	@Override
+	public synchronized void generacionTerminada(EstadisticasGeneracion est) {
+		if (est.getGeneracion() > 0) {
+			generaciones++;
+		}
+		nanosSeleccion += est.getNanosSeleccion();
+		nanosCruce += est.getNanosCruce();
+		nanosMutacion += est.getNanosMutacion();
+		nanosCria += est.getNanosCria();
+		nanosEvaluacion += est.getNanosEvaluacion();
+		nanosReemplazo += est.getNanosReemplazo();
+		nanosTotal += est.getNanosTotal();
+		evaluaciones += est.getEvaluaciones();
+		individuosCreados += est.getIndividuosCreados();
+		bytesReservados = (est.getBytesReservados() < 0 || bytesReservados < 0 ? -1L
+				: bytesReservados + est.getBytesReservados());
+		ultima = est;
+	}
+
+	/**
+	 * Pone a cero todas las medidas (para reutilizar el perfil en otra ejecucion)
+	 */
+	public synchronized void reinicia() {
+		generaciones = 0;
+		nanosSeleccion = nanosCruce = nanosMutacion = nanosCria = 0L;
+		nanosEvaluacion = nanosReemplazo = nanosTotal = 0L;
+		evaluaciones = individuosCreados = bytesReservados = 0L;
+		ultima = null;
+	}
+
+	// OBSERVADORES
+
+	/**
+	 * @return el numero de generaciones medidas (sin contar la poblacion inicial)
+	 */
+	public synchronized int getGeneraciones() {
+		return generaciones;
+	}
+
+	/**
+	 * @return nanosegundos acumulados en el operador de seleccion
+	 */
+	public synchronized long getNanosSeleccion() {
+		return nanosSeleccion;
+	}
+
+	/**
+	 * @return nanosegundos acumulados en el operador de cruce
+	 */
+	public synchronized long getNanosCruce() {
+		return nanosCruce;
+	}
+
+	/**
+	 * @return nanosegundos acumulados en el operador de mutacion
+	 */
+	public synchronized long getNanosMutacion() {
+		return nanosMutacion;
+	}
+
+	/**
+	 * @return nanosegundos (reales) acumulados en la fase de cria
+	 */
+	public synchronized long getNanosCria() {
+		return nanosCria;
+	}
+
+	/**
+	 * @return nanosegundos acumulados evaluando individuos
+	 */
+	public synchronized long getNanosEvaluacion() {
+		return nanosEvaluacion;
+	}
+
+	/**
+	 * @return nanosegundos acumulados en el operador de reemplazo
+	 */
+	public synchronized long getNanosReemplazo() {
+		return nanosReemplazo;
+	}
+
+	/**
+	 * @return nanosegundos acumulados en total
+	 */
+	public synchronized long getNanosTotal() {
+		return nanosTotal;
+	}
+
+	/**
+	 * @return el numero total de evaluaciones
+	 */
+	public synchronized long getEvaluaciones() {
+		return evaluaciones;
+	}
+
+	/**
+	 * @return el numero total de individuos creados por los operadores
+	 */
+	public synchronized long getIndividuosCreados() {
+		return individuosCreados;
+	}
+
+	/**
+	 * @return el total de bytes reservados (-1 si no se puede medir)
+	 */
+	public synchronized long getBytesReservados() {
+		return bytesReservados;
+	}
+
+	/**
+	 * @return las medidas de la ultima generacion (o null)
+	 */
+	public synchronized EstadisticasGeneracion getUltima() {
+		return ultima;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Perfil del GA (").append(generaciones).append(" generaciones, ").append(nanosTotal / 1000000)
+				.append(" ms):\n");
+		linea(sb, "seleccion", nanosSeleccion);
+		linea(sb, "cruce", nanosCruce);
+		linea(sb, "mutacion", nanosMutacion);
+		linea(sb, "evaluacion", nanosEvaluacion);
+		linea(sb, "reemplazo", nanosReemplazo);
+		sb.append("  evaluaciones: ").append(evaluaciones).append(", individuos creados: ").append(individuosCreados);
+		if (bytesReservados >= 0) {
+			sb.append(", memoria reservada: ").append(bytesReservados / (1024 * 1024)).append(" MB");
+		}
+		return sb.toString();
+	}
+
+	private void linea(StringBuilder sb, String fase, long nanos) {
+		sb.append(String.format("  %-11s %10.3f ms  %5.1f%%%n", fase, nanos / 1e6,
+				(nanosTotal > 0 ? 100.0 * nanos / nanosTotal : 0.0)));
+	}
+}
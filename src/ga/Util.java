@@ -14,18 +14,44 @@ public class Util {
 
 	private static Random random = new Random();
 
+	// generador propio del hilo actual (si no hay, se usa el generador compartido)
+	private static final ThreadLocal<SplittableRandom> generadorHilo = new ThreadLocal<>();
+
 	private static final double EPSILON = 0.000000000001;
 
+	/**
+	 * Asigna al hilo actual su propio generador aleatorio, de forma que los
+	 * metodos random* de esta clase no compitan con otros hilos por el generador
+	 * compartido. Un SplittableRandom no es thread-safe: cada hilo debe tener el
+	 * suyo (por ejemplo, obtenido con split() desde un unico hilo).
+	 * @param generador el generador del hilo (null para volver al compartido)
+	 */
+	public static void setGeneradorHilo(SplittableRandom generador) {
+		if (generador == null)
+			generadorHilo.remove();
+		else
+			generadorHilo.set(generador);
+	}
+
+	/**
+	 * @return el generador propio del hilo actual, o null si usa el compartido
+	 */
+	public static SplittableRandom getGeneradorHilo() {
+		return generadorHilo.get();
+	}
+
 	public static int randomInt(int bound) {
-		return random.nextInt(bound);
+		SplittableRandom g = generadorHilo.get();
+		return (g != null ? g.nextInt(bound) : random.nextInt(bound));
 	}
 
 	public static boolean randomBoolean() {
-		return random.nextInt(2) == 1;
+		return randomInt(2) == 1;
 	}
 	
 	public static double randomDouble() {
-		return random.nextDouble();
+		SplittableRandom g = generadorHilo.get();
+		return (g != null ? g.nextDouble() : random.nextDouble());
 	}
 
 	public static double[] normalize(double[] probDist) {
@@ -75,7 +101,7 @@ public class Util {
 
 	public static int randomNumberBetween(int i, int j) {
 		/* i,j bothinclusive */
-		return random.nextInt(j - i + 1) + i;
+		return randomInt(j - i + 1) + i;
 	}
 
 	public static double calculateMean(List<Double> lst) {
@@ -115,7 +141,7 @@ public class Util {
 	 * @return a random double bigger or equals {@code lowerLimit} and smaller or equals {@code upperLimit}.
 	 */
 	public static double generateRandomDoubleBetween(double lowerLimit, double upperLimit) {
-		return lowerLimit + ((upperLimit - lowerLimit) * random.nextDouble());
+		return lowerLimit + ((upperLimit - lowerLimit) * randomDouble());
 	}
 
 	/**
@@ -125,7 +151,7 @@ public class Util {
 	 * @return a random float bigger or equals {@code lowerLimit} and smaller or equals {@code upperLimit}.
 	 */
 	public static float generateRandomFloatBetween(float lowerLimit, float upperLimit) {
-		return lowerLimit + ((upperLimit - lowerLimit) * random.nextFloat());
+		return lowerLimit + ((upperLimit - lowerLimit) * (float) randomDouble());
 	}
 	
 	/**
@@ -151,4 +177,87 @@ public class Util {
 		if(!Float.isInfinite(a) && !Float.isInfinite(b)) return Math.abs(a-b) <= EPSILON;
 		return a == b;
 	}
+
+	/**
+	 * Ordena (en el sitio) un array de indices de menor a mayor valor de su clave,
+	 * sin crear objetos: quicksort con mediana de tres e insercion en los trozos
+	 * pequenios. No es estable.
+	 * @param idx   los indices a ordenar (posiciones de clave)
+	 * @param clave el valor de cada indice (por ejemplo, el fitness de cada individuo)
+	 * @param desde primera posicion de idx a ordenar
+	 * @param hasta posicion siguiente a la ultima a ordenar
+	 */
+	public static void ordenaIndices(int[] idx, double[] clave, int desde, int hasta) {
+		while (hasta - desde > 16) {
+			int p = particion(idx, clave, desde, hasta);
+			// recursion sobre el trozo menor, iteracion sobre el mayor
+			if (p - desde < hasta - p) {
+				ordenaIndices(idx, clave, desde, p);
+				desde = p;
+			} else {
+				ordenaIndices(idx, clave, p, hasta);
+				hasta = p;
+			}
+		}
+		for (int i = desde + 1; i < hasta; i++) {
+			int x = idx[i];
+			double cx = clave[x];
+			int j = i - 1;
+			while (j >= desde && clave[idx[j]] > cx) {
+				idx[j + 1] = idx[j];
+				j--;
+			}
+			idx[j + 1] = x;
+		}
+	}
+
+	/**
+	 * Seleccion parcial (quickselect) sin crear objetos: reordena idx[desde, hasta)
+	 * de forma que las claves de idx[desde, k) sean todas <= que las de
+	 * idx[k, hasta). Tiempo lineal en promedio.
+	 * @param idx   los indices (posiciones de clave)
+	 * @param clave el valor de cada indice
+	 * @param desde primera posicion de idx
+	 * @param hasta posicion siguiente a la ultima
+	 * @param k     posicion de corte (desde <= k <= hasta)
+	 */
+	public static void particionaK(int[] idx, double[] clave, int desde, int hasta, int k) {
+		while (hasta - desde > 16) {
+			int p = particion(idx, clave, desde, hasta);
+			if (k < p) {
+				hasta = p;
+			} else {
+				desde = p;
+			}
+		}
+		ordenaIndices(idx, clave, desde, hasta); // trozo pequenio: insercion
+	}
+
+	/**
+	 * Particion de Hoare de idx[desde, hasta) con pivote la mediana de tres
+	 * @return p tal que las claves de idx[desde, p) son <= que las de idx[p, hasta)
+	 *         (con desde < p < hasta)
+	 */
+	static int particion(int[] idx, double[] clave, int desde, int hasta) {
+		int medio = (desde + hasta) >>> 1;
+		// mediana de tres en idx[medio]
+		if (clave[idx[medio]] < clave[idx[desde]]) intercambia(idx, medio, desde);
+		if (clave[idx[hasta - 1]] < clave[idx[desde]]) intercambia(idx, hasta - 1, desde);
+		if (clave[idx[hasta - 1]] < clave[idx[medio]]) intercambia(idx, hasta - 1, medio);
+		double pivote = clave[idx[medio]];
+		int i = desde - 1, j = hasta;
+		while (true) {
+			do i++; while (clave[idx[i]] < pivote);
+			do j--; while (clave[idx[j]] > pivote);
+			if (i >= j)
+				return j + 1;
+			intercambia(idx, i, j);
+		}
+	}
+
+	private static void intercambia(int[] a, int i, int j) {
+		int aux = a[i];
+		a[i] = a[j];
+		a[j] = aux;
+	}
 }
\ No newline at end of file
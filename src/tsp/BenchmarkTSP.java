@@ -0,0 +1,341 @@
+package tsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import ga.*;
+
+/**
+ * Clase BenchmarkTSP
+ * Microbenchmarks de los operadores del GA, del decodificador, de la busqueda
+ * local 2-opt y de una generacion completa, para cada instancia indicada
+ * (ficheros tsplib o instancias sinteticas de N ciudades aleatorias).
+ *
+ * Cada benchmark se calienta primero (para que el JIT compile el codigo medido)
+ * y despues se mide en varias rondas de duracion fija, dando el tiempo medio
+ * por operacion y su desviacion entre rondas. Los resultados de cada operacion
+ * se "consumen" para que el JIT no pueda eliminar el trabajo.
+ *
+ * Uso: java tsp.BenchmarkTSP [opciones] [instancias]
+ * <pre>
+ *   instancias        gr17, brazil58, un fichero .tsp o un numero N (sintetica);
+ *                     por defecto: gr17 brazil58 500 1000 2000 5000
+ *   -b filtro         solo los benchmarks cuyo nombre contiene el filtro
+ *   -calentamiento ms tiempo de calentamiento por benchmark (1000)
+ *   -medida ms        duracion de cada ronda de medida (1000)
+ *   -rondas k         numero de rondas de medida (5)
+ *   -tamPob n         tamanio de poblacion para seleccion y generacion (100)
+ *   -max2opt n        maximo de ciudades para medir la 2-opt completa (500)
+ *   -vecinos k        tamanio de las listas de candidatos de la busqueda local (10)
+ *   -densa            las instancias sinteticas guardan la matriz de distancias
+ *                     completa en vez de calcularlas con las coordenadas
+ * </pre>
+ * Con -densa, para 5000 ciudades hace falta lanzar la JVM con -Xmx1g o mas.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class BenchmarkTSP {
+	private static volatile Object sumidero; // resultados consumidos (para que el JIT no elimine el trabajo)
+	private static final int TAM_LOTE = 16; // tours de cada lote en la busqueda local por lotes
+
+	// PARAMETROS
+	private long msCalentamiento = 1000;
+	private long msMedida = 1000;
+	private int rondas = 5;
+	private int tamPob = 100;
+	private int max2Opt = 500;
+	private int vecinos = 10;
+	private String filtro = "";
+	private boolean densa = false;
+
+	/**
+	 * Operacion a medir (devuelve algo para consumirlo)
+	 */
+	@FunctionalInterface
+	private interface Operacion {
+		Object ejecuta();
+	}
+
+	public static void main(String[] args) {
+		BenchmarkTSP b = new BenchmarkTSP();
+		List<String> instancias = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-b": b.filtro = args[++i]; break;
+			case "-calentamiento": b.msCalentamiento = Long.parseLong(args[++i]); break;
+			case "-medida": b.msMedida = Long.parseLong(args[++i]); break;
+			case "-rondas": b.rondas = Integer.parseInt(args[++i]); break;
+			case "-tamPob": b.tamPob = Integer.parseInt(args[++i]); break;
+			case "-max2opt": b.max2Opt = Integer.parseInt(args[++i]); break;
+			case "-vecinos": b.vecinos = Integer.parseInt(args[++i]); break;
+			case "-densa": b.densa = true; break;
+			default: instancias.add(args[i]);
+			}
+		}
+		if (instancias.isEmpty()) {
+			instancias = List.of("gr17", "brazil58", "500", "1000", "2000", "5000");
+		}
+		System.out.println(String.format(Locale.ROOT, "%-30s %-10s %6s %16s %10s", "benchmark", "instancia", "N",
+				"ns/op", "+-"));
+		for (String inst : instancias) {
+			b.ejecutaInstancia(inst, cargaInstancia(inst, b.densa));
+		}
+	}
+
+	/**
+	 * ejecutaInstancia
+	 * Lanza todos los benchmarks (que pasen el filtro) sobre una instancia
+	 */
+	private void ejecutaInstancia(String nombre, ProblemaTSP prob) {
+		int n = prob.getNumCiudades();
+		Util.setGeneradorHilo(new SplittableRandom(n)); // misma secuencia en cada ejecucion
+		List<Integer> alfabeto = prob.getAlfabeto();
+		OpGeneracion<Integer> opGen = new OpGenRandNoRep<>(alfabeto, n);
+		OpGeneracion<Integer> opGenPerm = new OpGenRandPerm(alfabeto, n);
+		Individuo<Integer> p1 = opGen.apply(), p2 = opGen.apply();
+		Individuo<Integer> q1 = opGenPerm.apply(), q2 = opGenPerm.apply();
+		OpDecodTSP opDecod = new OpDecodTSP(prob);
+
+		// operadores de cruce y mutacion
+		OpCruce<Integer> cruce1 = new OpCruce1PuntoNoRep<>();
+		mide("OpCruce1PuntoNoRep", nombre, n, () -> cruce1.apply(2, p1, p2));
+		OpCruce<Integer> cruce2 = new OpCruce2PuntosNoRep<>();
+		mide("OpCruce2PuntosNoRep", nombre, n, () -> cruce2.apply(2, p1, p2));
+		OpCruce<Integer> cruce1Perm = new OpCruce1PuntoPerm();
+		mide("OpCruce1PuntoPerm", nombre, n, () -> cruce1Perm.apply(2, q1, q2));
+		OpCruce<Integer> cruce2Perm = new OpCruce2PuntosPerm();
+		mide("OpCruce2PuntosPerm", nombre, n, () -> cruce2Perm.apply(2, q1, q2));
+		OpCruce<Integer> pmx = new OpCrucePMXPerm();
+		mide("OpCrucePMXPerm", nombre, n, () -> pmx.apply(2, q1, q2));
+		OpCruce<Integer> cx = new OpCruceCXPerm();
+		mide("OpCruceCXPerm", nombre, n, () -> cx.apply(2, q1, q2));
+		OpCruce<Integer> erx = new OpCruceAristasPerm();
+		mide("OpCruceAristasPerm", nombre, n, () -> erx.apply(2, q1, q2));
+		OpMutacion<Integer> swap = new OpMutacionSwap<>();
+		mide("OpMutacionSwap", nombre, n, () -> swap.apply(p1));
+		OpMutacion<Integer> swapPerm = new OpMutacionSwapPerm();
+		mide("OpMutacionSwapPerm", nombre, n, () -> swapPerm.apply(q1));
+		OpMutacionPerm inversion = new OpMutacionInversionPerm();
+		mide("OpMutacionInversionPerm", nombre, n, () -> inversion.apply(q1));
+		OpMutacion<Integer> insercion = new OpMutacionInsercionPerm();
+		mide("OpMutacionInsercionPerm", nombre, n, () -> insercion.apply(q1));
+		OpMutacion<Integer> scramble = new OpMutacionScramblePerm();
+		mide("OpMutacionScramblePerm", nombre, n, () -> scramble.apply(q1));
+		OpMutacion<Integer> orOpt = new OpMutacionOrOptPerm();
+		mide("OpMutacionOrOptPerm", nombre, n, () -> orOpt.apply(q1));
+		// mutacion con coste incremental sobre un padre evaluado
+		Individuo<Integer> q1Eval = q1.copia();
+		q1Eval.setFitness(opDecod.fitness(q1Eval));
+		OpMutacion<Integer> swapDelta = new OpMutacionSwapDelta(prob);
+		mide("OpMutacionSwapDelta", nombre, n, () -> swapDelta.apply(q1Eval));
+		OpMutacion<Integer> inversionDelta = new OpMutacionRangoDelta(prob, inversion);
+		mide("RangoDelta(Inversion)", nombre, n, () -> inversionDelta.apply(q1Eval));
+
+		// seleccion sobre una poblacion evaluada
+		List<Individuo<Integer>> poblacion = new ArrayList<>(tamPob);
+		for (int i = 0; i < tamPob; i++) {
+			Individuo<Integer> ind = opGenPerm.apply();
+			ind.setFitness(opDecod.fitness(ind));
+			poblacion.add(ind);
+		}
+		OpSeleccion<Integer> ruleta = new OpSelRuleta<>();
+		mide("OpSelRuleta", nombre, n, () -> ruleta.apply(poblacion));
+		OpSelRuletaAlias<Integer> alias = new OpSelRuletaAlias<>();
+		mide("OpSelRuletaAlias", nombre, n, () -> alias.apply(poblacion));
+		mide("OpSelRuletaAlias.prepara", nombre, n, () -> {
+			alias.preparaGeneracion(poblacion);
+			return alias;
+		});
+		// una operacion = todos los padres de una generacion
+		OpSeleccion<Integer> sus = new OpSelSUS<>();
+		mide("OpSelSUS.lote", nombre, n, () -> sus.seleccionaLote(poblacion, tamPob));
+		mide("OpSelRuletaAlias.lote", nombre, n, () -> alias.seleccionaLote(poblacion, tamPob));
+		OpSeleccion<Integer> torneo = new OpSelTorneo<>(2);
+		mide("OpSelTorneo(2)", nombre, n, () -> torneo.apply(poblacion));
+		OpSelRangoLineal<Integer> rango = new OpSelRangoLineal<>();
+		mide("OpSelRangoLineal", nombre, n, () -> rango.apply(poblacion));
+		mide("OpSelRangoLineal.prepara", nombre, n, () -> {
+			rango.preparaGeneracion(poblacion);
+			return rango;
+		});
+
+		// decodificacion
+		mide("OpDecodTSP.apply", nombre, n, () -> opDecod.apply(p1));
+		mide("OpDecodTSP.fitness", nombre, n, () -> opDecod.fitness(q1));
+
+		// busqueda local desde un tour aleatorio (una operacion = busqueda completa)
+		prob.setNumVecinosCercanos(vecinos);
+		prob.getVecinosCercanos(); // las listas de candidatos se calculan fuera de la medida
+		BusquedaLocal2Opt dosOpt = new BusquedaLocal2Opt(prob);
+		mide("BusquedaLocal2Opt", nombre, n, () -> dosOpt.mejorar(opGenPerm.apply()));
+		BusquedaLocal2Opt dosOptMejor = new BusquedaLocal2Opt(prob, true);
+		mide("BusquedaLocal2Opt.mejor", nombre, n, () -> dosOptMejor.mejorar(opGenPerm.apply()));
+		BusquedaLocal2Opt or3Opt = new BusquedaLocalOr3Opt(prob);
+		mide("BusquedaLocalOr3Opt", nombre, n, () -> or3Opt.mejorar(opGenPerm.apply()));
+		BusquedaLocal2Opt lk = new BusquedaLocalLK(prob);
+		mide("BusquedaLocalLK", nombre, n, () -> lk.mejorar(opGenPerm.apply()));
+		// las mismas con el tour en dos niveles (por defecto solo a partir de 5000 ciudades)
+		BusquedaLocal2Opt dosOptNiveles = new BusquedaLocal2Opt(prob);
+		dosOptNiveles.setUmbralDosNiveles(0);
+		mide("BusquedaLocal2Opt.dosNiveles", nombre, n, () -> dosOptNiveles.mejorar(opGenPerm.apply()));
+		BusquedaLocal2Opt lkNiveles = new BusquedaLocalLK(prob);
+		lkNiveles.setUmbralDosNiveles(0);
+		mide("BusquedaLocalLK.dosNiveles", nombre, n, () -> lkNiveles.mejorar(opGenPerm.apply()));
+		// un lote de tours aleatorios (una operacion = el lote entero): uno a uno o en el pool comun
+		Supplier<List<Individuo<Integer>>> lote = () -> {
+			List<Individuo<Integer>> l = new ArrayList<>(TAM_LOTE);
+			for (int i = 0; i < TAM_LOTE; i++) {
+				l.add(opGenPerm.apply());
+			}
+			return l;
+		};
+		mide("BusquedaLocal2Opt.lote", nombre, n, () -> {
+			List<Individuo<Integer>> l = lote.get();
+			l.replaceAll(dosOpt::mejorar);
+			return l;
+		});
+		MejoraLocalLote mejoraLote = new MejoraLocalLote(dosOpt);
+		mide("MejoraLocalLote(2Opt)", nombre, n, () -> mejoraLote.apply(lote.get()));
+		if (n <= max2Opt) { // vecindario completo: O(n^2) por pasada
+			BusquedaLocal2Opt dosOptCompleto = new BusquedaLocal2Opt(prob, false, true);
+			mide("BusquedaLocal2Opt.completo", nombre, n, () -> dosOptCompleto.mejorar(opGenPerm.apply()));
+		}
+
+		// una generacion completa (la poblacion evoluciona entre operaciones)
+		GABench ga = new GABench(prob, tamPob, opGen, cruce1, swap, opDecod);
+		mide("generacion", nombre, n, ga::generacion);
+		GABench gaPerm = new GABench(prob, tamPob, opGenPerm, cruce2Perm, new OpMutacionSwapDelta(prob), opDecod);
+		mide("generacionPerm", nombre, n, gaPerm::generacion);
+	}
+
+	/**
+	 * mide
+	 * Calienta y mide una operacion, e imprime el tiempo medio por operacion
+	 */
+	private void mide(String benchmark, String instancia, int n, Operacion op) {
+		if (!benchmark.contains(filtro)) {
+			return;
+		}
+		// calentamiento
+		ronda(op, msCalentamiento);
+		// medida
+		double[] nsPorOp = new double[rondas];
+		for (int r = 0; r < rondas; r++) {
+			nsPorOp[r] = ronda(op, msMedida);
+		}
+		double media = 0.0;
+		for (double x : nsPorOp) {
+			media += x;
+		}
+		media /= rondas;
+		double var = 0.0;
+		for (double x : nsPorOp) {
+			var += (x - media) * (x - media);
+		}
+		double desv = (rondas > 1 ? Math.sqrt(var / (rondas - 1)) : 0.0);
+		System.out.println(String.format(Locale.ROOT, "%-30s %-10s %6d %16.1f %10.1f", benchmark, instancia, n,
+				media, desv));
+	}
+
+	/**
+	 * ronda
+	 * Ejecuta la operacion repetidamente durante (al menos) ms milisegundos
+	 * @return nanosegundos por operacion
+	 */
+	private static double ronda(Operacion op, long ms) {
+		long limite = ms * 1000000L;
+		long ops = 0;
+		int lote = 1; // operaciones entre dos llamadas a nanoTime
+		long inicio = System.nanoTime();
+		long transcurrido = 0L;
+		do {
+			long antes = transcurrido;
+			for (int i = 0; i < lote; i++) {
+				sumidero = op.ejecuta();
+			}
+			ops += lote;
+			transcurrido = System.nanoTime() - inicio;
+			// en operaciones cortas se agrandan los lotes para no medir sobre todo el propio nanoTime
+			if (transcurrido - antes < 100000L && lote < (1 << 20)) {
+				lote *= 2;
+			}
+		} while (transcurrido < limite);
+		return (double) transcurrido / ops;
+	}
+
+	/**
+	 * cargaInstancia
+	 * @param inst  gr17, brazil58, un fichero tsplib o un numero de ciudades
+	 * @param densa si la instancia sintetica guarda la matriz de distancias
+	 * @return el problema
+	 */
+	private static ProblemaTSP cargaInstancia(String inst, boolean densa) {
+		if (inst.matches("\\d+")) {
+			return sintetica(Integer.parseInt(inst), 12345L, densa);
+		}
+		String fich = (inst.endsWith(".txt") || inst.endsWith(".tsp") ? inst : inst + ".tsp.txt");
+		return new ProblemaTSP(fich);
+	}
+
+	/**
+	 * sintetica
+	 * Instancia de n ciudades (mas el origen) con coordenadas aleatorias en un
+	 * cuadrado de 1000x1000 y distancia euclidea redondeada (EUC_2D de tsplib)
+	 * @param n       numero de ciudades sin contar el origen
+	 * @param semilla semilla de las coordenadas
+	 * @param densa   si se guarda la matriz de distancias completa (O(n^2)
+	 *                memoria) o se calculan con las coordenadas
+	 * @return el problema
+	 */
+	static ProblemaTSP sintetica(int n, long semilla, boolean densa) {
+		SplittableRandom r = new SplittableRandom(semilla);
+		double[] x = new double[n + 1], y = new double[n + 1];
+		String[] nombres = new String[n + 1];
+		for (int i = 0; i <= n; i++) {
+			x[i] = r.nextDouble(1000.0);
+			y[i] = r.nextDouble(1000.0);
+			nombres[i] = "c" + i;
+		}
+		if (!densa) {
+			return new ProblemaTSP(nombres, x, y, ProblemaTSP.TipoDistancia.EUC_2D);
+		}
+		double[][] dist = new double[n + 1][n + 1];
+		for (int i = 0; i <= n; i++) {
+			for (int j = 0; j < i; j++) {
+				dist[i][j] = dist[j][i] = Math.floor(Math.hypot(x[i] - x[j], y[i] - y[j]) + 0.5);
+			}
+		}
+		return new ProblemaTSP(nombres, dist);
+	}
+
+	/**
+	 * GA con una poblacion ya inicializada del que se ejecuta una generacion por
+	 * operacion (subclase para acceder a siguienteGeneracion)
+	 */
+	private static class GABench extends AlgoritmoGenetico<Integer> {
+		private final OpCruce<Integer> opCross;
+		private final OpMutacion<Integer> opM;
+		private final OpSeleccion<Integer> opSel = new OpSelRandom<>();
+		private final OpDecodificacion<Integer> opDecod;
+		private final OpReemplazo<Integer> opReemp = new OpReempGenElitista<>();
+		private List<Individuo<Integer>> population;
+
+		GABench(ProblemaTSP prob, int tamPob, OpGeneracion<Integer> opG, OpCruce<Integer> opCross,
+				OpMutacion<Integer> opM, OpDecodificacion<Integer> opDecod) {
+			super(prob.getNumCiudades(), prob.getAlfabeto(), 0.9, 0.4, tamPob);
+			this.opCross = opCross;
+			this.opM = opM;
+			this.opDecod = opDecod;
+			this.population = iniciaPoblacion(opG, opDecod);
+		}
+
+		Object generacion() {
+			population = siguienteGeneracion(population, opCross, opM, opSel, opDecod, opReemp);
+			return population;
+		}
+	}
+}
@@ -1,96 +1,490 @@
-package tsp;  
+package tsp;
+
+import java.util.function.BooleanSupplier;
 
-import java.util.ArrayList;
-import java.util.List;
 import ga.Individuo;
+import ga.IndividuoPerm;
 
 /**
  * Clase BusquedaLocal2Opt
  * Implementa la busqueda local 2-opt para mejorar las soluciones del TSP.
  * El metodo 2-opt consiste en tomar dos aristas no adyacentes del tour actual
  * y reconectarlas de manera diferente para formar un nuevo tour.
- * 
+ *
+ * Cada movimiento se evalua en O(1) con la variacion de coste de las cuatro
+ * aristas que cambian (supone distancias simetricas, como las de TSPLIB que
+ * lee ProblemaTSP) y solo cuando se acepta se invierte el tramo, en el sitio,
+ * sobre el int[] de la ruta. El tour es origen -> ruta -> origen: el origen
+ * (ciudad 0) no esta en la ruta pero sus dos aristas tambien se pueden
+ * cambiar. Cada pasada completa cuesta O(n^2).
+ *
+ * Dos estrategias: primera mejora (se aplica cada movimiento que mejora en
+ * cuanto se encuentra y se sigue recorriendo) o mejor mejora (en cada pasada se
+ * aplica solo el mejor movimiento).
+ *
+ * Por defecto no se recorre el vecindario completo: desde cada ciudad solo se
+ * prueban como nuevas aristas las que la unen con sus vecinos mas cercanos
+ * (las listas de candidatos de ProblemaTSP, de k ciudades cada una) y se usan
+ * "don't-look bits": solo se vuelven a examinar las ciudades cuyas aristas han
+ * cambiado, que esperan en una cola. Asi llegar a un optimo local cuesta un
+ * tiempo casi lineal en n en lugar de O(n^2) por pasada, a cambio de no mirar
+ * algunos movimientos poco prometedores. El tour se guarda en un Tour: un
+ * TourArray (invertir cuesta O(n)) o, a partir de cierto numero de ciudades
+ * (ver setUmbralDosNiveles), un TourDosNiveles (invertir cuesta O(sqrt(n))); la
+ * ruta del individuo solo se vuelve a escribir al final.
+ *
+ * La busqueda se puede interrumpir ("anytime"): cada busqueda puede tener un
+ * presupuesto fijo (un maximo de movimientos aplicados y/o de tiempo, ver
+ * setPresupuesto) y mejorar(individuo, plazo, maxMovimientos, cancelado)
+ * acepta ademas un plazo, un maximo de movimientos y una cancelacion externa
+ * para esa llamada. Al pararse se devuelve el tour tal como este, que es el
+ * mejor encontrado (solo se aplican movimientos que mejoran), junto con los
+ * movimientos aplicados, la ganancia y el tiempo (ResultadoBusquedaLocal).
+ * Sirve para acotar lo que cuesta mejorar cada individuo de una poblacion
+ * grande (ver MejoraLocalLote) o para repartir un tiempo fijo por generacion.
+ *
  * @author Ian Saucedo
  */
 public class BusquedaLocal2Opt {
-  private final ProblemaTSP problema;
+  // margen para no aceptar "mejoras" que solo son errores de redondeo
+  static final double EPS = 1e-9;
+
+  // espacio de trabajo de cada hilo para la busqueda con listas de candidatos
+  private static final ThreadLocal<Trabajo> TRABAJO = ThreadLocal.withInitial(Trabajo::new);
+
+  final ProblemaTSP problema;
+  final boolean mejorMejora; // true: mejor mejora; false: primera mejora
+  private final boolean vecindarioCompleto; // true: todos los pares de aristas; false: listas de candidatos
+  private int maxMovimientos = Integer.MAX_VALUE; // movimientos que se aplican como mucho en cada busqueda
+  private long maxNanos = 0L; // tiempo maximo de cada busqueda (0: sin limite)
+  private int umbralDosNiveles = 5000; // ciudades a partir de las que se usa TourDosNiveles
 
   /**
-   * Constructor
-   * 
+   * Constructor (primera mejora, con listas de candidatos)
+   *
    * @param problema la instancia del TSP sobre la que se aplicara la busqueda
    *                 local
    */
   public BusquedaLocal2Opt(ProblemaTSP problema) {
+    this(problema, false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param problema    la instancia del TSP sobre la que se aplicara la
+   *                    busqueda local
+   * @param mejorMejora true para aplicar en cada pasada el mejor movimiento,
+   *                    false para aplicar el primero que mejore
+   */
+  public BusquedaLocal2Opt(ProblemaTSP problema, boolean mejorMejora) {
+    this(problema, mejorMejora, false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param problema           la instancia del TSP sobre la que se aplicara la
+   *                           busqueda local
+   * @param mejorMejora        true para aplicar el mejor movimiento, false para
+   *                           aplicar el primero que mejore
+   * @param vecindarioCompleto true para probar todos los pares de aristas en
+   *                           cada pasada (O(n^2)), false para usar las listas
+   *                           de candidatos y los don't-look bits
+   */
+  public BusquedaLocal2Opt(ProblemaTSP problema, boolean mejorMejora, boolean vecindarioCompleto) {
     this.problema = problema;
+    this.mejorMejora = mejorMejora;
+    this.vecindarioCompleto = vecindarioCompleto;
+  }
+
+  /**
+   * Fija el presupuesto de cada busqueda (de cada llamada a mejorar o
+   * mejorarRuta). Hay que fijarlo antes de usar la busqueda desde varios hilos.
+   *
+   * @param maxMovimientos numero maximo de movimientos aplicados (>= 1;
+   *                       Integer.MAX_VALUE: sin limite)
+   * @param maxMilis       tiempo maximo en milisegundos (0: sin limite)
+   */
+  public void setPresupuesto(int maxMovimientos, long maxMilis) {
+    if (maxMovimientos < 1 || maxMilis < 0) {
+      throw new IllegalArgumentException("Presupuesto no valido: " + maxMovimientos + " movimientos, "
+          + maxMilis + " ms");
+    }
+    this.maxMovimientos = maxMovimientos;
+    this.maxNanos = maxMilis * 1_000_000L;
+  }
+
+  /**
+   * @return el numero maximo de movimientos de cada busqueda
+   */
+  public int getMaxMovimientos() {
+    return maxMovimientos;
+  }
+
+  /**
+   * @return el tiempo maximo de cada busqueda en milisegundos (0: sin limite)
+   */
+  public long getMaxMilis() {
+    return maxNanos / 1_000_000L;
+  }
+
+  /**
+   * Fija a partir de cuantas ciudades la busqueda con listas de candidatos
+   * guarda el tour en un TourDosNiveles en lugar de en un TourArray (por
+   * defecto 5000: por debajo el array suele ser igual o mas rapido, porque
+   * consultarlo es mas barato y sus inversiones aun son cortas)
+   *
+   * @param numCiudades el numero de ciudades (0: siempre; Integer.MAX_VALUE:
+   *                    nunca)
+   */
+  public void setUmbralDosNiveles(int numCiudades) {
+    if (numCiudades < 0) {
+      throw new IllegalArgumentException("El umbral no puede ser negativo: " + numCiudades);
+    }
+    this.umbralDosNiveles = numCiudades;
   }
 
   /**
    * Mejora una solucion aplicando el algoritmo 2-opt
-   * 
+   *
    * @param individuo el individuo a mejorar
-   * @return un nuevo individuo con la solucion mejorada
+   * @return un nuevo individuo (IndividuoPerm) con la solucion mejorada, ya
+   *         evaluado (con su coste y su fitness)
    */
   public Individuo<Integer> mejorar(Individuo<Integer> individuo) {
-    List<Integer> mejorRuta = new ArrayList<>(individuo.getRepresentation());
-    boolean mejora;
+    return mejorar(individuo, Long.MAX_VALUE, Integer.MAX_VALUE, null).getIndividuo();
+  }
 
-    do {
-      mejora = false;
-      double mejorDistancia = calcularDistanciaTotal(mejorRuta);
+  /**
+   * Mejora una solucion aplicando el algoritmo 2-opt hasta llegar a un optimo
+   * local o hasta que se cumpla alguna de las condiciones de parada (ademas de
+   * las del presupuesto de cada busqueda, si se ha fijado). El plazo y la
+   * cancelacion se comprueban tras cada movimiento y, mientras no se encuentra
+   * ninguno, cada cierto numero de ciudades examinadas.
+   *
+   * @param individuo      el individuo a mejorar
+   * @param plazo          instante (System.nanoTime()) en el que hay que parar
+   *                       (Long.MAX_VALUE: sin plazo)
+   * @param maxMovimientos numero maximo de movimientos aplicados (>= 1;
+   *                       Integer.MAX_VALUE: sin limite)
+   * @param cancelado      si devuelve true se para en cuanto se consulte (por
+   *                       ejemplo, GoalTestCancelacion::isCancelado; null: no
+   *                       se puede cancelar)
+   * @return el mejor tour encontrado (un nuevo IndividuoPerm, ya evaluado) y
+   *         las estadisticas de la busqueda
+   */
+  public ResultadoBusquedaLocal mejorar(Individuo<Integer> individuo, long plazo, int maxMovimientos,
+      BooleanSupplier cancelado) {
+    if (maxMovimientos < 1) {
+      throw new IllegalArgumentException("El maximo de movimientos debe ser al menos 1: " + maxMovimientos);
+    }
+    long t0 = System.nanoTime();
+    int[] ruta = IndividuoPerm.genesDe(individuo).clone();
+    double coste = costeConocido(individuo);
+    if (Double.isNaN(coste)) {
+      coste = problema.costeRuta(ruta);
+    }
+    Control control = control(t0, plazo, maxMovimientos, cancelado);
+    double delta = busca(ruta, control);
+    coste += delta;
+    IndividuoPerm mejorado = new IndividuoPerm(ruta);
+    mejorado.setCoste(coste);
+    mejorado.setFitness(SolucionTSP.fitnessDeCoste(coste)); // ya evaluado: el GA no lo decodifica otra vez
+    ResultadoBusquedaLocal.Parada parada = (control.parada != null ? control.parada
+        : ResultadoBusquedaLocal.Parada.OPTIMO_LOCAL);
+    return new ResultadoBusquedaLocal(mejorado, control.movimientos, (delta < 0 ? -delta : 0),
+        System.nanoTime() - t0, parada);
+  }
 
-      // Probamos todas las posibles combinaciones de 2-opt
-      for (int i = 0; i < mejorRuta.size() - 1 && !mejora; i++) {
-        for (int j = i + 2; j < mejorRuta.size(); j++) {
-          List<Integer> nuevaRuta = new ArrayList<>(mejorRuta);
+  /**
+   * Aplica 2-opt a una ruta hasta llegar a un optimo local (o agotar el
+   * presupuesto)
+   *
+   * @param ruta permutacion de las ciudades 1..N (sin el origen); se modifica
+   * @return la variacion del coste del tour (<= 0)
+   */
+  public double mejorarRuta(int[] ruta) {
+    return busca(ruta, control(System.nanoTime(), Long.MAX_VALUE, Integer.MAX_VALUE, null));
+  }
 
-          // Invertimos el segmento entre i+1 y j
-          invertirSegmento(nuevaRuta, i + 1, j);
+  private double busca(int[] ruta, Control control) {
+    if (!vecindarioCompleto) {
+      return conCandidatos(ruta, control);
+    }
+    return (mejorMejora ? mejorMejora(ruta, control) : primeraMejora(ruta, control));
+  }
+
+  /**
+   * @return el control de parada del hilo, preparado para una busqueda que
+   *         empieza en t0 con las condiciones dadas y el presupuesto fijo
+   */
+  private Control control(long t0, long plazo, int maxMovimientos, BooleanSupplier cancelado) {
+    Control control = TRABAJO.get().control;
+    control.limite = plazo;
+    if (maxNanos > 0 && (plazo == Long.MAX_VALUE || t0 + maxNanos - plazo < 0)) {
+      control.limite = t0 + maxNanos;
+    }
+    control.maxMovimientos = Math.min(maxMovimientos, this.maxMovimientos);
+    control.cancelado = cancelado;
+    control.movimientos = 0;
+    control.parada = null;
+    return control;
+  }
 
-          double nuevaDistancia = calcularDistanciaTotal(nuevaRuta);
-          if (nuevaDistancia < mejorDistancia) {
-            mejorRuta = nuevaRuta;
-            mejorDistancia = nuevaDistancia;
+  /**
+   * Busqueda con listas de candidatos y don't-look bits: se saca una ciudad de
+   * la cola y se buscan movimientos que la unan con uno de sus vecinos
+   * cercanos; si se aplica alguno, las ciudades afectadas vuelven a la cola.
+   * Termina cuando la cola se vacia o se cumple una condicion de parada.
+   */
+  private double conCandidatos(int[] ruta, Control control) {
+    int[][] vecinos = problema.getVecinosCercanos();
+    Trabajo w = TRABAJO.get();
+    Tour tour = (ruta.length + 1 >= umbralDosNiveles ? w.dosNiveles : w.array);
+    tour.carga(ruta);
+    w.cola.prepara(tour.tamanio());
+    // al principio todas las ciudades (incluido el origen) estan en la cola, en
+    // el orden del tour
+    for (int k = 0, c = 0; k < tour.tamanio(); k++, c = tour.sucesor(c)) {
+      w.cola.encola(c);
+    }
+    double total = 0;
+    for (int examinadas = 0; !w.cola.vacia(); examinadas++) {
+      if (examinadas % Control.CADA == 0 && control.agotado()) {
+        break;
+      }
+      double delta = mejoraDesde(w.cola.desencola(), vecinos, tour, w.cola, w.mov);
+      if (delta != 0) {
+        total += delta;
+        control.movimientos++;
+        if (control.agotado()) {
+          break;
+        }
+      }
+    }
+    tour.descarga(ruta);
+    return total;
+  }
+
+  /**
+   * Busca desde la ciudad a un movimiento que mejore el tour y, si lo hay, lo
+   * aplica y encola las ciudades cuyas aristas han cambiado
+   *
+   * @return la variacion del coste (0 si no se aplica ningun movimiento)
+   */
+  double mejoraDesde(int a, int[][] vecinos, Tour t, ColaCiudades cola, Movimiento mov) {
+    mov.reinicia(EPS);
+    buscaMovimientos(a, vecinos, t, mov);
+    if (!mov.encontrado()) {
+      return 0;
+    }
+    mov.aplica(t);
+    mov.encola(cola);
+    return mov.delta;
+  }
+
+  /**
+   * Busca movimientos que mejoren el tour desde la ciudad a y deja el mejor en
+   * mov (con primera mejora, el primero que encuentre). Aqui solo 2-opt; las
+   * subclases aniaden otros tipos de movimiento.
+   */
+  void buscaMovimientos(int a, int[][] vecinos, Tour t, Movimiento mov) {
+    busca2Opt(a, vecinos, t, mov);
+  }
+
+  /**
+   * @return true si ya no hay que seguir buscando (primera mejora y ya se ha
+   *         encontrado un movimiento)
+   */
+  boolean basta(Movimiento mov) {
+    return !mejorMejora && mov.encontrado();
+  }
+
+  /**
+   * Movimientos 2-opt que crean una arista entre a y uno de sus candidatos c,
+   * quitando la arista de a con su sucesor (y la de c con el suyo) o la de a con
+   * su predecesor (y la de c con el suyo). Como los candidatos estan ordenados
+   * por distancia, se deja de mirar en cuanto d(a,c) ya no es menor que la
+   * arista que se quita, porque entonces el movimiento no puede mejorar por el
+   * lado de a.
+   */
+  void busca2Opt(int a, int[][] vecinos, Tour t, Movimiento mov) {
+    for (int sentido = 0; sentido < 2 && !basta(mov); sentido++) {
+      boolean haciaDelante = (sentido == 0);
+      int sa = t.siguiente(a, haciaDelante);
+      double dA = problema.getDistEntre(a, sa);
+      for (int c : vecinos[a]) {
+        double dAC = problema.getDistEntre(a, c);
+        if (dA - dAC <= EPS) {
+          break; // los siguientes candidatos estan aun mas lejos
+        }
+        int sc = t.siguiente(c, haciaDelante);
+        if (c == sa || sc == a) {
+          continue; // aristas adyacentes
+        }
+        double delta = dAC + problema.getDistEntre(sa, sc) - dA - problema.getDistEntre(c, sc);
+        if (mov.propone(delta, Movimiento.DOS_OPT, a, sa, c, sc) && basta(mov)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Primera mejora: recorre todos los pares de aristas y aplica cada
+   * movimiento que mejora en cuanto lo encuentra, sin volver a empezar; repite
+   * las pasadas mientras alguna mejore
+   */
+  private double primeraMejora(int[] ruta, Control control) {
+    int n = ruta.length;
+    double total = 0;
+    boolean mejora;
+    do {
+      mejora = false;
+      // arista (a,b) en las posiciones i,i+1 del tour; (c,e) en j,j+1
+      for (int i = 0; i < n - 1; i++) {
+        if (control.agotado()) {
+          return total;
+        }
+        int a = ciudad(ruta, i);
+        for (int j = i + 2; j <= n; j++) {
+          if (i == 0 && j == n) {
+            continue; // las dos aristas del origen: invertir todo no cambia nada
+          }
+          int b = ciudad(ruta, i + 1);
+          int c = ciudad(ruta, j);
+          int e = ciudad(ruta, j + 1);
+          double delta = problema.getDistEntre(a, c) + problema.getDistEntre(b, e)
+              - problema.getDistEntre(a, b) - problema.getDistEntre(c, e);
+          if (delta < -EPS) {
+            invertirSegmento(ruta, i, j - 1); // posiciones del tour i+1..j
+            total += delta;
             mejora = true;
-            break;
+            control.movimientos++;
+            if (control.agotado()) {
+              return total;
+            }
           }
         }
       }
     } while (mejora);
+    return total;
+  }
+
+  /**
+   * Mejor mejora: en cada pasada evalua todos los movimientos y aplica solo el
+   * mejor, hasta que ninguno mejora (o hay que parar: las condiciones de parada
+   * se miran en cada fila de la pasada)
+   */
+  private double mejorMejora(int[] ruta, Control control) {
+    int n = ruta.length;
+    double total = 0;
+    while (true) {
+      double mejorDelta = -EPS;
+      int mejorI = -1, mejorJ = -1;
+      for (int i = 0; i < n - 1; i++) {
+        if (control.agotado()) {
+          return total; // la pasada a medias se descarta
+        }
+        int a = ciudad(ruta, i);
+        int b = ciudad(ruta, i + 1);
+        double dab = problema.getDistEntre(a, b);
+        for (int j = i + 2; j <= n; j++) {
+          if (i == 0 && j == n) {
+            continue;
+          }
+          int c = ciudad(ruta, j);
+          int e = ciudad(ruta, j + 1);
+          double delta = problema.getDistEntre(a, c) + problema.getDistEntre(b, e)
+              - dab - problema.getDistEntre(c, e);
+          if (delta < mejorDelta) {
+            mejorDelta = delta;
+            mejorI = i;
+            mejorJ = j;
+          }
+        }
+      }
+      if (mejorI < 0) {
+        return total;
+      }
+      invertirSegmento(ruta, mejorI, mejorJ - 1);
+      total += mejorDelta;
+      control.movimientos++;
+    }
+  }
 
-    return new Individuo<>(mejorRuta);
+  /**
+   * @return el coste ya calculado del individuo, o NaN si no se conoce
+   */
+  private static double costeConocido(Individuo<Integer> individuo) {
+    if (individuo instanceof IndividuoPerm && individuo.isEvaluado()) {
+      return ((IndividuoPerm) individuo).getCoste();
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * @return la ciudad en la posicion k del tour origen -> ruta -> origen (las
+   *         posiciones 0 y ruta.length+1 son el origen)
+   */
+  private static int ciudad(int[] ruta, int k) {
+    return (k == 0 || k > ruta.length ? 0 : ruta[k - 1]);
   }
 
   /**
    * Invierte el orden de los elementos en la ruta entre las posiciones inicio y
    * fin
    */
-  private void invertirSegmento(List<Integer> ruta, int inicio, int fin) {
+  private void invertirSegmento(int[] ruta, int inicio, int fin) {
     while (inicio < fin) {
-      Integer temp = ruta.get(inicio);
-      ruta.set(inicio, ruta.get(fin));
-      ruta.set(fin, temp);
+      int temp = ruta[inicio];
+      ruta[inicio] = ruta[fin];
+      ruta[fin] = temp;
       inicio++;
       fin--;
     }
   }
 
   /**
-   * Calcula la distancia total de una ruta
+   * Espacio de trabajo reutilizable de un hilo para la busqueda
    */
-  private double calcularDistanciaTotal(List<Integer> ruta) {
-    double distancia = 0;
-    // Distancia desde el origen a la primera ciudad
-    distancia += problema.getDistEntre(0, ruta.get(0));
+  private static final class Trabajo {
+    final TourArray array = new TourArray();
+    final TourDosNiveles dosNiveles = new TourDosNiveles();
+    final ColaCiudades cola = new ColaCiudades();
+    final Movimiento mov = new Movimiento();
+    final Control control = new Control();
+  }
 
-    // Distancia entre ciudades intermedias
-    for (int i = 0; i < ruta.size() - 1; i++) {
-      distancia += problema.getDistEntre(ruta.get(i), ruta.get(i + 1));
-    }
+  /**
+   * Condiciones de parada de la busqueda en curso en un hilo y movimientos
+   * aplicados hasta el momento
+   */
+  private static final class Control {
+    // sin movimientos que mejoren, el plazo y la cancelacion se miran cada CADA ciudades
+    static final int CADA = 256;
 
-    // Distancia desde la ultima ciudad al origen
-    distancia += problema.getDistEntre(ruta.get(ruta.size() - 1), 0);
+    long limite; // instante (System.nanoTime()) en que hay que parar (Long.MAX_VALUE: nunca)
+    int maxMovimientos;
+    BooleanSupplier cancelado; // null: no se puede cancelar
+    int movimientos; // movimientos aplicados
+    ResultadoBusquedaLocal.Parada parada; // null mientras no haya que parar
 
-    return distancia;
+    /**
+     * @return true si hay que parar (y deja en parada el motivo)
+     */
+    boolean agotado() {
+      if (parada == null) {
+        if (movimientos >= maxMovimientos) {
+          parada = ResultadoBusquedaLocal.Parada.MOVIMIENTOS;
+        } else if (limite != Long.MAX_VALUE && System.nanoTime() - limite >= 0) {
+          parada = ResultadoBusquedaLocal.Parada.TIEMPO;
+        } else if (cancelado != null && cancelado.getAsBoolean()) {
+          parada = ResultadoBusquedaLocal.Parada.CANCELADA;
+        }
+      }
+      return parada != null;
+    }
   }
 }
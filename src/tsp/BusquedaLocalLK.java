@@ -0,0 +1,208 @@
+package tsp;
+
+/**
+ * Clase BusquedaLocalLK
+ * Busqueda local de profundidad variable al estilo Lin-Kernighan, construida
+ * con movimientos 2-opt encadenados (como la LK de Johnson y McGeoch):
+ * <ol>
+ * <li>se quita la arista (t1,t2) y se busca un candidato t3 de t2 tal que la
+ * ganancia parcial g = d(t1,t2) - d(t2,t3) sea positiva</li>
+ * <li>se aplica el 2-opt que aniade (t2,t3), quita (t3,t4) y cierra el tour con
+ * (t4,t1); si cerrar ahi mejora el tour, se apunta</li>
+ * <li>se repite desde (t1,t4) eligiendo cada vez el t3 que mas ganancia deja
+ * (g - d(t2,t3) + d(t3,t4)), mientras la ganancia parcial siga siendo positiva
+ * y sin pasar de la profundidad maxima</li>
+ * </ol>
+ * Al final se deshacen los movimientos posteriores al mejor cierre (o todos si
+ * ninguno mejora). En el primer nivel se prueban todos los candidatos de t2;
+ * en los siguientes solo el mejor. Las aristas aniadidas en una cadena no se
+ * pueden volver a quitar en ella.
+ *
+ * Usa las mismas distancias, listas de candidatos y don't-look bits que
+ * BusquedaLocal2Opt, asi que se puede usar igual: como mejora final (mejorar)
+ * o como operador memetico (OpMutacionMemetica).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class BusquedaLocalLK extends BusquedaLocal2Opt {
+	// registro de los movimientos de la cadena de cada hilo
+	private static final ThreadLocal<Cadena> CADENA = ThreadLocal.withInitial(Cadena::new);
+
+	private final int profundidad; // numero maximo de movimientos 2-opt encadenados
+
+	/**
+	 * Constructor (profundidad maxima 30)
+	 * @param problema la instancia del TSP
+	 */
+	public BusquedaLocalLK(ProblemaTSP problema) {
+		this(problema, 30);
+	}
+
+	/**
+	 * Constructor
+	 * @param problema    la instancia del TSP
+	 * @param profundidad numero maximo de movimientos 2-opt encadenados (>= 1)
+	 */
+	public BusquedaLocalLK(ProblemaTSP problema, int profundidad) {
+		super(problema, false, false);
+		if (profundidad < 1) {
+			throw new IllegalArgumentException("La profundidad debe ser al menos 1: " + profundidad);
+		}
+		this.profundidad = profundidad;
+	}
+
+	/**
+	 * @return el numero maximo de movimientos 2-opt encadenados
+	 */
+	public int getProfundidad() {
+		return profundidad;
+	}
+
+	@Override
+	double mejoraDesde(int t1, int[][] vecinos, Tour t, ColaCiudades cola, Movimiento mov) {
+		Cadena cad = CADENA.get();
+		cad.asegura(profundidad);
+		for (int sentido = 0; sentido < 2; sentido++) {
+			boolean haciaDelante = (sentido == 0);
+			int t2 = t.siguiente(t1, haciaDelante);
+			double g0 = problema.getDistEntre(t1, t2);
+			for (int t3 : vecinos[t2]) {
+				double g1 = g0 - problema.getDistEntre(t2, t3);
+				if (g1 <= EPS) {
+					break; // los siguientes candidatos estan aun mas lejos
+				}
+				if (t3 == t1 || t3 == t.siguiente(t2, haciaDelante)) {
+					continue;
+				}
+				double ganancia = cadena(t1, t2, t3, g1, vecinos, t, cad);
+				if (ganancia > EPS) {
+					cad.encola(cola);
+					return -ganancia;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Construye una cadena de movimientos 2-opt a partir de la arista (t1,t2) y
+	 * el primer candidato t3, y deja aplicados los movimientos hasta el mejor
+	 * cierre
+	 * @param g ganancia parcial tras aniadir (t2,t3)
+	 * @return la ganancia del tour (> 0), o 0 si no mejora y se ha deshecho todo
+	 */
+	private double cadena(int t1, int t2, int t3, double g, int[][] vecinos, Tour t, Cadena cad) {
+		cad.longitud = 0;
+		double mejor = 0;
+		int mejorLongitud = 0;
+		while (true) {
+			// t4: el vecino de t3 del lado de t2, para que el 2-opt cierre con (t4,t1)
+			boolean haciaDelante = (t.sucesor(t1) == t2);
+			int t4 = t.siguiente(t3, !haciaDelante);
+			t.dosOpt(t1, t2, t4, t3); // quita (t1,t2) y (t4,t3); pone (t1,t4) y (t2,t3)
+			cad.apunta(t1, t2, t4, t3);
+			g += problema.getDistEntre(t3, t4);
+			double cierre = g - problema.getDistEntre(t4, t1);
+			if (cierre > mejor) {
+				mejor = cierre;
+				mejorLongitud = cad.longitud;
+			}
+			if (cad.longitud == profundidad) {
+				break;
+			}
+			// siguiente paso desde (t1,t4): el t3 que mas ganancia deja
+			t2 = t4;
+			haciaDelante = (t.sucesor(t1) == t2);
+			int siguiente = -1;
+			double mejorValor = Double.NEGATIVE_INFINITY;
+			for (int c : vecinos[t2]) {
+				double gc = g - problema.getDistEntre(t2, c);
+				if (gc <= EPS) {
+					break;
+				}
+				if (c == t1) {
+					continue;
+				}
+				int d = t.siguiente(c, !haciaDelante);
+				if (d == t2 || cad.aniadida(c, d)) {
+					continue;
+				}
+				double valor = gc + problema.getDistEntre(c, d);
+				if (valor > mejorValor) {
+					mejorValor = valor;
+					siguiente = c;
+				}
+			}
+			if (siguiente < 0) {
+				break;
+			}
+			t3 = siguiente;
+			g -= problema.getDistEntre(t2, t3);
+		}
+		cad.deshaceHasta(mejorLongitud, t);
+		return mejor;
+	}
+
+	/**
+	 * Movimientos 2-opt aplicados en la cadena actual, para deshacerlos y para
+	 * saber que aristas se han aniadido
+	 */
+	private static final class Cadena {
+		int[] t1 = new int[0], t2 = new int[0], t4 = new int[0], t3 = new int[0];
+		int longitud; // movimientos apuntados
+
+		void asegura(int tam) {
+			if (t1.length < tam) {
+				t1 = new int[tam];
+				t2 = new int[tam];
+				t3 = new int[tam];
+				t4 = new int[tam];
+			}
+		}
+
+		void apunta(int a, int b, int c, int d) {
+			t1[longitud] = a;
+			t2[longitud] = b;
+			t4[longitud] = c;
+			t3[longitud] = d;
+			longitud++;
+		}
+
+		/**
+		 * @return true si la arista (a,b) se ha aniadido en la cadena (como (t2,t3)
+		 *         de algun paso)
+		 */
+		boolean aniadida(int a, int b) {
+			for (int k = 0; k < longitud; k++) {
+				if ((t2[k] == a && t3[k] == b) || (t2[k] == b && t3[k] == a)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Deshace los movimientos apuntados despues de los primeros lon
+		 */
+		void deshaceHasta(int lon, Tour t) {
+			while (longitud > lon) {
+				longitud--;
+				// tras el movimiento el tour es t1 t4 ... t2 t3: se vuelve a t1 t2 ... t4 t3
+				t.dosOpt(t1[longitud], t4[longitud], t2[longitud], t3[longitud]);
+			}
+		}
+
+		/**
+		 * Encola las ciudades de los movimientos que se han quedado
+		 */
+		void encola(ColaCiudades cola) {
+			for (int k = 0; k < longitud; k++) {
+				cola.encola(t1[k]);
+				cola.encola(t2[k]);
+				cola.encola(t3[k]);
+				cola.encola(t4[k]);
+			}
+		}
+	}
+}
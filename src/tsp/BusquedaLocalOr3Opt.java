@@ -0,0 +1,152 @@
+package tsp;
+
+/**
+ * Clase BusquedaLocalOr3Opt
+ * Busqueda local que amplia la 2-opt (BusquedaLocal2Opt) con dos vecindarios
+ * mas, con la misma evaluacion incremental, listas de candidatos y don't-look
+ * bits:
+ * <ul>
+ * <li>or-opt: mover un tramo de 1 a 3 ciudades consecutivas a otro punto del
+ * tour, tal cual o invertido</li>
+ * <li>3-opt "or3opt": el caso de 3-opt que reconecta sin invertir ningun tramo,
+ * a [b..c] [d..e] f -> a [d..e] [b..c] f, con tramos de cualquier longitud</li>
+ * </ul>
+ * Desde cada ciudad se prueban primero los movimientos 2-opt y, si ninguno
+ * mejora (o con mejor mejora), los de or-opt y 3-opt. Los optimos locales son
+ * bastante mejores que los de 2-opt por un coste parecido.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class BusquedaLocalOr3Opt extends BusquedaLocal2Opt {
+	private static final int MAX_TRAMO = 3; // longitud maxima de los tramos de or-opt
+
+	/**
+	 * Constructor (primera mejora)
+	 * @param problema la instancia del TSP
+	 */
+	public BusquedaLocalOr3Opt(ProblemaTSP problema) {
+		this(problema, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param problema    la instancia del TSP
+	 * @param mejorMejora true para aplicar el mejor movimiento de cada ciudad,
+	 *                    false para aplicar el primero que mejore
+	 */
+	public BusquedaLocalOr3Opt(ProblemaTSP problema, boolean mejorMejora) {
+		super(problema, mejorMejora, false);
+	}
+
+	@Override
+	void buscaMovimientos(int a, int[][] vecinos, Tour t, Movimiento mov) {
+		busca2Opt(a, vecinos, t, mov);
+		for (int sentido = 0; sentido < 2 && !basta(mov); sentido++) {
+			buscaOrOpt(a, sentido == 0, vecinos, t, mov);
+		}
+		for (int sentido = 0; sentido < 2 && !basta(mov); sentido++) {
+			buscaOr3Opt(a, sentido == 0, vecinos, t, mov);
+		}
+	}
+
+	/**
+	 * Or-opt: el tramo s1..s2 de 1 a 3 ciudades que empieza en a (recorriendo en
+	 * el sentido indicado) se lleva junto a uno de los candidatos c de a. Si el
+	 * tramo va entre c y su siguiente queda tal cual (c s1..s2 q); si va entre el
+	 * anterior de c y c, invertido (p s2..s1 c).
+	 */
+	private void buscaOrOpt(int a, boolean haciaDelante, int[][] vecinos, Tour t, Movimiento mov) {
+		int s1 = a, s2 = a;
+		int ps = t.siguiente(s1, !haciaDelante);
+		double dEntrada = problema.getDistEntre(ps, s1); // arista que se quita del lado de a
+		for (int lon = 1; lon <= MAX_TRAMO; lon++) {
+			if (lon > 1) {
+				s2 = t.siguiente(s2, haciaDelante);
+			}
+			int ns = t.siguiente(s2, haciaDelante);
+			if (ns == ps || s2 == ps) {
+				return; // el tramo ocupa (casi) todo el tour
+			}
+			// lo que se gana al sacar el tramo y unir ps con ns
+			double quita = dEntrada + problema.getDistEntre(s2, ns) - problema.getDistEntre(ps, ns);
+			for (int c : vecinos[s1]) {
+				double dC = problema.getDistEntre(s1, c);
+				if (dEntrada - dC <= EPS) {
+					break; // los siguientes candidatos estan aun mas lejos
+				}
+				if (enTramo(c, s1, lon, haciaDelante, t) || c == ps) {
+					continue;
+				}
+				// c s1..s2 q
+				int q = t.siguiente(c, haciaDelante);
+				if (q != ps) {
+					double delta = dC + problema.getDistEntre(s2, q) - problema.getDistEntre(c, q) - quita;
+					if (mov.propone(delta, Movimiento.INTERCAMBIO, ps, s1, s2, ns, c, q) && basta(mov)) {
+						return;
+					}
+				}
+				// p s2..s1 c
+				int p = t.siguiente(c, !haciaDelante);
+				if (c != ns) {
+					double delta = problema.getDistEntre(p, s2) + dC - problema.getDistEntre(p, c) - quita;
+					if (mov.propone(delta, Movimiento.INSERCION_INVERTIDA, ps, s1, s2, ns, p, c) && basta(mov)) {
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true si c es una de las lon ciudades que empiezan en s1
+	 */
+	private static boolean enTramo(int c, int s1, int lon, boolean haciaDelante, Tour t) {
+		int x = s1;
+		for (int k = 0; k < lon; k++) {
+			if (x == c) {
+				return true;
+			}
+			x = t.siguiente(x, haciaDelante);
+		}
+		return false;
+	}
+
+	/**
+	 * 3-opt sin inversiones: a [b..c] [d..e] f -> a [d..e] [b..c] f, con b el
+	 * siguiente de a. Las aristas nuevas (a,d) y (b,e) salen de las listas de
+	 * candidatos de a y de b, y se exige que la ganancia parcial siga siendo
+	 * positiva tras cada una (criterio de Lin-Kernighan).
+	 */
+	private void buscaOr3Opt(int a, boolean haciaDelante, int[][] vecinos, Tour t, Movimiento mov) {
+		int b = t.siguiente(a, haciaDelante);
+		int pa = t.siguiente(a, !haciaDelante); // ultima ciudad antes de volver a a
+		double dAB = problema.getDistEntre(a, b);
+		for (int d : vecinos[a]) {
+			double g1 = dAB - problema.getDistEntre(a, d);
+			if (g1 <= EPS) {
+				break;
+			}
+			if (d == b || d == pa) {
+				continue; // no queda sitio para uno de los dos tramos
+			}
+			int c = t.siguiente(d, !haciaDelante);
+			double dCD = problema.getDistEntre(c, d);
+			for (int e : vecinos[b]) {
+				double g2 = g1 + dCD - problema.getDistEntre(b, e);
+				if (g2 <= EPS) {
+					break;
+				}
+				// e tiene que estar en el tramo d..pa (sin llegar a a)
+				if (e == pa || !(haciaDelante ? t.entre(d, e, pa) : t.entre(pa, e, d))) {
+					continue;
+				}
+				int f = t.siguiente(e, haciaDelante);
+				double delta = problema.getDistEntre(c, f) - problema.getDistEntre(e, f) - g2;
+				if (mov.propone(delta, Movimiento.INTERCAMBIO, a, b, c, d, e, f) && basta(mov)) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package tsp;
+
+/**
+ * Clase ColaCiudades
+ * Cola FIFO de ciudades pendientes de examinar en la busqueda local
+ * ("don't-look bits"): cada ciudad esta como mucho una vez y una ciudad fuera
+ * de la cola tiene su bit activado, es decir, no se vuelve a mirar hasta que
+ * cambie alguna de sus aristas y se encole de nuevo.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+class ColaCiudades {
+	private int[] cola = new int[0]; // cola circular
+	private boolean[] enLaCola = new boolean[0]; // el don't-look bit de cada ciudad, negado
+	private int primero, tamanio; // principio y tamanio de la cola
+
+	/**
+	 * Deja la cola vacia para ciudades 0..numCiudades-1
+	 */
+	void prepara(int numCiudades) {
+		if (cola.length < numCiudades) {
+			cola = new int[numCiudades];
+			enLaCola = new boolean[numCiudades];
+		} else {
+			while (tamanio > 0) { // lo que quedara de una busqueda interrumpida
+				desencola();
+			}
+		}
+		primero = 0;
+		tamanio = 0;
+	}
+
+	boolean vacia() {
+		return tamanio == 0;
+	}
+
+	/**
+	 * Encola c si no estaba ya
+	 */
+	void encola(int c) {
+		if (!enLaCola[c]) {
+			enLaCola[c] = true;
+			int p = primero + tamanio;
+			cola[p >= cola.length ? p - cola.length : p] = c;
+			tamanio++;
+		}
+	}
+
+	int desencola() {
+		int c = cola[primero];
+		if (++primero == cola.length) {
+			primero = 0;
+		}
+		tamanio--;
+		enLaCola[c] = false;
+		return c;
+	}
+}
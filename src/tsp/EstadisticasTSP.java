@@ -114,7 +114,7 @@ public class EstadisticasTSP {
     OpGeneracion<Integer> opGen = new OpGenRandNoRep<>(prob.getAlfabeto(), prob.getNumCiudades());
     OpCruce<Integer> opCruce = new OpCruce1PuntoNoRep<>();
     OpMutacion<Integer> opMut = new OpMutacionSwap<>();
-    OpSeleccion<Integer> opSel = new OpSelRandom<>();
+    OpSeleccion<Integer> opSel = new OpSelTorneo<>(2);
     OpDecodificacion<Integer> opDecod = new OpDecodTSP(prob);
     OpReemplazo<Integer> opReemp = new OpReempGenElitista<>();
 
@@ -143,7 +143,7 @@ public class EstadisticasTSP {
     OpGeneracion<Integer> opGen = new OpGenRandNoRep<>(prob.getAlfabeto(), prob.getNumCiudades());
     OpCruce<Integer> opCruce = new OpCruce1PuntoNoRep<>();
     OpMutacion<Integer> opMut = new OpMutacionSwap<>();
-    OpSeleccion<Integer> opSel = new OpSelRandom<>();
+    OpSeleccion<Integer> opSel = new OpSelTorneo<>(2);
     OpDecodificacion<Integer> opDecod = new OpDecodTSP(prob);
     OpReemplazo<Integer> opReemp = new OpReempGenElitista<>();
 
@@ -154,7 +154,9 @@ public class EstadisticasTSP {
     Individuo<Integer> cromoSol = ga.lanzaGA(opGen, maxIter, opCruce, opMut, opSel, opDecod, opReemp);
 
     // APLICAR 2-OPT SOLO AL FINAL, a la mejor solucion encontrada
-    BusquedaLocal2Opt busqueda2Opt = new BusquedaLocal2Opt(prob);
+    // (busqueda de profundidad variable tipo Lin-Kernighan: mejores optimos locales)
+    // BusquedaLocal2Opt busqueda2Opt = new BusquedaLocalOr3Opt(prob); // 2-opt + or-opt + 3-opt sin inversiones
+    BusquedaLocal2Opt busqueda2Opt = new BusquedaLocalLK(prob);
     Individuo<Integer> cromoMejorado = busqueda2Opt.mejorar(cromoSol);
     Solucion solucion = opDecod.apply(cromoMejorado);
 
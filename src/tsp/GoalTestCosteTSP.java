@@ -0,0 +1,47 @@
+package tsp;
+
+import ga.GoalTest;
+import ga.Individuo;
+import ga.IndividuoPerm;
+
+/**
+ * Clase GoalTestCosteTSP
+ * Criterio de parada que se cumple cuando el mejor tour encontrado tiene un
+ * coste menor o igual que un coste objetivo (por ejemplo, el optimo conocido:
+ * 2085 para gr17 o 25395 para brazil58)
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class GoalTestCosteTSP implements GoalTest<Individuo<Integer>> {
+	private static final double TOLERANCIA = 1e-9; // error relativo admitido al pasar de fitness a coste
+	private double costeObjetivo;
+
+	/**
+	 * @param costeObjetivo el coste que se considera suficiente
+	 */
+	public GoalTestCosteTSP(double costeObjetivo) {
+		this.costeObjetivo = costeObjetivo;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.GoalTest#test(java.lang.Object)
+	 * state es el mejor individuo encontrado hasta el momento
+	 */
+	@Override
+	public boolean test(Individuo<Integer> state) {
+		double coste = Double.NaN;
+		if (state instanceof IndividuoPerm) {
+			coste = ((IndividuoPerm) state).getCoste(); // coste guardado al evaluar
+		}
+		if (Double.isNaN(coste)) {
+			coste = 1.0 / state.getFitness(); // el fitness es el inverso del coste
+		}
+		return coste <= costeObjetivo * (1 + TOLERANCIA);
+	}
+
+	@Override
+	public String toString() {
+		return "coste objetivo (" + costeObjetivo + ")";
+	}
+}
@@ -0,0 +1,125 @@
+package tsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ga.Individuo;
+import ga.OpMejora;
+import ga.Util;
+
+/**
+ * Clase MejoraLocalLote
+ * Aplica una busqueda local (BusquedaLocal2Opt, BusquedaLocalOr3Opt o
+ * BusquedaLocalLK) a un lote de individuos en un ForkJoinPool. El lote se
+ * parte por la mitad recursivamente hasta llegar a tareas de un individuo, y
+ * como lo que cuesta mejorar cada tour varia mucho, el robo de tareas entre
+ * hilos reparte la carga mejor que unos trozos fijos. Cada individuo mejorado
+ * sale ya evaluado (IndividuoPerm con su coste y su fitness), asi que el GA no
+ * lo vuelve a decodificar.
+ *
+ * Se usa con AlgoritmoGenetico.setMejora, sobre la poblacion inicial (en lugar
+ * de mejorar uno a uno en OpGenRandNoRepCon2Opt) y/o sobre los hijos de cada
+ * generacion (GA memetico). Para acotar lo que cuesta cada individuo se fija
+ * un presupuesto en la busqueda (BusquedaLocal2Opt.setPresupuesto), y para
+ * acotar lo que cuesta el lote entero, un plazo (setPlazo): al llegar a el,
+ * las busquedas en curso devuelven su mejor tour y las que faltan devuelven el
+ * individuo sin mejorar (pero evaluado).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class MejoraLocalLote extends OpMejora<Integer> {
+	private final BusquedaLocal2Opt busqueda;
+	private final double probBusqueda; // probabilidad de mejorar cada individuo
+	private final ForkJoinPool pool;
+	private long milisPlazo; // tiempo maximo de cada lote (0: sin limite)
+
+	/**
+	 * Constructor (mejora todos los individuos en el pool comun)
+	 * @param busqueda la busqueda local
+	 */
+	public MejoraLocalLote(BusquedaLocal2Opt busqueda) {
+		this(busqueda, 1.0, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor
+	 * @param busqueda     la busqueda local
+	 * @param probBusqueda probabilidad de mejorar cada individuo (entre 0 y 1)
+	 * @param pool         el pool en el que se reparte el trabajo
+	 */
+	public MejoraLocalLote(BusquedaLocal2Opt busqueda, double probBusqueda, ForkJoinPool pool) {
+		if (!(probBusqueda >= 0.0 && probBusqueda <= 1.0)) {
+			throw new IllegalArgumentException("La probabilidad debe estar entre 0 y 1: " + probBusqueda);
+		}
+		this.busqueda = busqueda;
+		this.probBusqueda = probBusqueda;
+		this.pool = pool;
+	}
+
+	/**
+	 * Fija el tiempo maximo de cada lote (de cada llamada a apply)
+	 * @param milis tiempo en milisegundos (0: sin limite)
+	 */
+	public void setPlazo(long milis) {
+		if (milis < 0) {
+			throw new IllegalArgumentException("El plazo no puede ser negativo: " + milis);
+		}
+		this.milisPlazo = milis;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.OpMejora#apply(java.util.List)
+	 */
+	@Override
+	public List<Individuo<Integer>> apply(List<Individuo<Integer>> individuos) {
+		List<Individuo<Integer>> resultado = new ArrayList<>(individuos);
+		// los individuos a mejorar se eligen aqui, con el generador del hilo que llama
+		int[] elegidos = new int[individuos.size()];
+		int n = 0;
+		for (int i = 0; i < individuos.size(); i++) {
+			if (probBusqueda >= 1.0 || Util.randomDouble() < probBusqueda) {
+				elegidos[n++] = i;
+			}
+		}
+		if (n > 0) {
+			long plazo = (milisPlazo > 0 ? System.nanoTime() + milisPlazo * 1_000_000L : Long.MAX_VALUE);
+			pool.invoke(new Tarea(resultado, elegidos, 0, n, plazo));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Mejora los individuos de las posiciones elegidos[desde..hasta-1], cada uno
+	 * en su posicion de la lista (las tareas nunca escriben en la misma)
+	 */
+	private final class Tarea extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<Individuo<Integer>> lista;
+		private final int[] elegidos;
+		private final int desde, hasta;
+		private final long plazo; // instante (System.nanoTime()) en que acaba el lote
+
+		Tarea(List<Individuo<Integer>> lista, int[] elegidos, int desde, int hasta, long plazo) {
+			this.lista = lista;
+			this.elegidos = elegidos;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.plazo = plazo;
+		}
+
+		@Override
+		protected void compute() {
+			if (hasta - desde == 1) {
+				int i = elegidos[desde];
+				lista.set(i, busqueda.mejorar(lista.get(i), plazo, Integer.MAX_VALUE, null).getIndividuo());
+			} else {
+				int medio = (desde + hasta) >>> 1;
+				invokeAll(new Tarea(lista, elegidos, desde, medio, plazo),
+						new Tarea(lista, elegidos, medio, hasta, plazo));
+			}
+		}
+	}
+}
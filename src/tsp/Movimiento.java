@@ -0,0 +1,105 @@
+package tsp;
+
+/**
+ * Clase Movimiento
+ * El mejor movimiento de busqueda local encontrado hasta el momento (tipo,
+ * ciudades que lo definen y variacion del coste), para poder aplicarlo despues
+ * sobre un Tour. Las ciudades se dan en el orden de un sentido de
+ * recorrido (cualquiera de los dos).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+class Movimiento {
+	/** a b ... c d -> a c ... b d (quita (a,b) y (c,d)) */
+	static final int DOS_OPT = 0;
+	/** a [b..c] [d..e] f -> a [d..e] [b..c] f: intercambio de tramos sin invertirlos */
+	static final int INTERCAMBIO = 1;
+	/** a [b..c] d ... e f -> a d ... e [c..b] f: el tramo se inserta invertido */
+	static final int INSERCION_INVERTIDA = 2;
+
+	int tipo;
+	final int[] c = new int[6]; // ciudades del movimiento
+	int numCiudades;
+	double delta; // variacion del coste (negativa si mejora)
+
+	/**
+	 * Olvida el movimiento: solo se aceptaran los que mejoren al menos en margen
+	 */
+	void reinicia(double margen) {
+		delta = -margen;
+		numCiudades = 0;
+	}
+
+	boolean encontrado() {
+		return numCiudades > 0;
+	}
+
+	/**
+	 * Se queda con el movimiento si mejora al que se tenia
+	 * @return true si se ha quedado con el
+	 */
+	boolean propone(double delta, int tipo, int a, int b, int c2, int d) {
+		if (delta >= this.delta) {
+			return false;
+		}
+		guarda(delta, tipo, 4, a, b, c2, d, 0, 0);
+		return true;
+	}
+
+	/**
+	 * Se queda con el movimiento si mejora al que se tenia
+	 * @return true si se ha quedado con el
+	 */
+	boolean propone(double delta, int tipo, int a, int b, int c2, int d, int e, int f) {
+		if (delta >= this.delta) {
+			return false;
+		}
+		guarda(delta, tipo, 6, a, b, c2, d, e, f);
+		return true;
+	}
+
+	private void guarda(double delta, int tipo, int num, int a, int b, int c2, int d, int e, int f) {
+		this.delta = delta;
+		this.tipo = tipo;
+		this.numCiudades = num;
+		c[0] = a;
+		c[1] = b;
+		c[2] = c2;
+		c[3] = d;
+		c[4] = e;
+		c[5] = f;
+	}
+
+	/**
+	 * Aplica el movimiento al tour como una secuencia de movimientos 2-opt
+	 */
+	void aplica(Tour t) {
+		int a = c[0], b = c[1], c2 = c[2], d = c[3], e = c[4], f = c[5];
+		switch (tipo) {
+		case DOS_OPT:
+			t.dosOpt(a, b, c2, d);
+			break;
+		case INTERCAMBIO:
+			t.dosOpt(a, b, e, f); // a e..d c..b f
+			t.dosOpt(a, e, d, c2); // a d..e c..b f
+			t.dosOpt(e, c2, b, f); // a d..e b..c f
+			break;
+		case INSERCION_INVERTIDA:
+			t.dosOpt(a, b, e, f); // a e..d c..b f
+			t.dosOpt(a, e, d, c2); // a d..e c..b f
+			break;
+		default:
+			throw new IllegalStateException("Tipo de movimiento desconocido: " + tipo);
+		}
+	}
+
+	/**
+	 * Encola las ciudades del movimiento (sus aristas han cambiado)
+	 */
+	void encola(ColaCiudades cola) {
+		for (int k = 0; k < numCiudades; k++) {
+			cola.encola(c[k]);
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package tsp;
 
 import ga.Individuo;
+import ga.IndividuoPerm;
 import ga.OpDecodificacion;
 import ga.Solucion;
 
@@ -12,14 +13,14 @@ import ga.Solucion;
  */
 public class OpDecodTSP implements OpDecodificacion<Integer>{
 	// ATRIBUTO
-	private static ProblemaTSP p; // los datos: ciudades, distancias...
+	private final ProblemaTSP p; // los datos: ciudades, distancias... (solo lectura: se puede decodificar desde varios hilos)
 
 	/**
 	 * Constructor
 	 * @param p el problema
 	 */
 	public OpDecodTSP(ProblemaTSP p) {
-		OpDecodTSP.p = p;
+		this.p = p;
 	}
 	
 	
@@ -32,6 +33,22 @@ public class OpDecodTSP implements OpDecodificacion<Integer>{
 		return decodificar( cromosoma );
 	}
 	
+	/** metodo para calcular el fitness de un cromosoma sin construir la SolucionTSP
+	 * (recorre el array de genes directamente si es un IndividuoPerm, y le guarda el coste)
+	 * @param cromosoma el individuo a evaluar
+	 * @return el fitness del tour que representa
+	 */
+	@Override
+	public double fitness(Individuo<Integer> cromosoma) {
+		if( cromosoma instanceof IndividuoPerm ) {
+			IndividuoPerm ind = (IndividuoPerm) cromosoma;
+			double coste = p.costeRuta( ind.getGenes() );
+			ind.setCoste(coste);
+			return SolucionTSP.fitnessDeCoste(coste);
+		}
+		return decodificar( cromosoma ).getFitness();
+	}
+	
 	
 	/**
 	 * 
@@ -0,0 +1,70 @@
+package tsp;
+
+import java.util.List;
+
+import ga.Individuo;
+import ga.IndividuoPerm;
+import ga.OpMutacion;
+import ga.Util;
+
+/**
+ * OpMutacionAltDelta
+ * Mutacion "flip" para cromosomas sin repeticion (como OpMutacionAltNoRep): da
+ * a una posicion un valor aleatorio del alfabeto y repara el cromosoma poniendo
+ * el valor antiguo donde estaba el nuevo. Equivale a intercambiar dos ciudades,
+ * asi que calcula la variacion del coste en O(1) igual que OpMutacionSwapDelta
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionAltDelta extends OpMutacion<Integer> {
+	private final ProblemaTSP p; // para las distancias
+	private final int[] alfabeto; // valores posibles de cada gen
+
+	/**
+	 * Constructor
+	 * @param p              el problema
+	 * @param finiteAlphabet el alfabeto (ids de ciudades)
+	 */
+	public OpMutacionAltDelta(ProblemaTSP p, List<Integer> finiteAlphabet) {
+		this.p = p;
+		this.alfabeto = new int[finiteAlphabet.size()];
+		for (int i = 0; i < alfabeto.length; i++) {
+			alfabeto[i] = finiteAlphabet.get(i);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacion#apply(ga.Individuo)
+	 */
+	@Override
+	public Individuo<Integer> apply(Individuo<Integer> individual) {
+		int[] ruta = IndividuoPerm.genesDe(individual).clone();
+		double delta = muta(ruta);
+		IndividuoPerm hijo = new IndividuoPerm(ruta);
+		if (individual instanceof IndividuoPerm && individual.isEvaluado()
+				&& !Double.isNaN(((IndividuoPerm) individual).getCoste())) {
+			double coste = ((IndividuoPerm) individual).getCoste() + delta;
+			hijo.setCoste(coste);
+			hijo.setFitness(SolucionTSP.fitnessDeCoste(coste));
+		}
+		return hijo;
+	}
+
+	/**
+	 * muta
+	 * Cambia el valor de una posicion aleatoria y repara la repeticion (en el sitio)
+	 * @param ruta la ruta (se modifica)
+	 * @return la variacion del coste del tour
+	 */
+	public double muta(int[] ruta) {
+		int pos = Util.randomInt(ruta.length); // posicion a modificar
+		int nVal = alfabeto[Util.randomInt(alfabeto.length)]; // nuevo valor aleatorio de entre todos los posibles
+		int i = 0;
+		while (ruta[i] != nVal) i++; // posicion en la que estaba el nuevo valor
+		double delta = p.deltaIntercambio(ruta, pos, i);
+		ruta[i] = ruta[pos];
+		ruta[pos] = nVal;
+		return delta;
+	}
+}
@@ -0,0 +1,58 @@
+package tsp;
+
+import ga.Individuo;
+import ga.OpMutacion;
+import ga.Util;
+
+/**
+ * OpMutacionMemetica
+ * Operador memetico (lamarckiano): aplica una mutacion y despues, con cierta
+ * probabilidad, una busqueda local (BusquedaLocal2Opt, BusquedaLocalOr3Opt o
+ * BusquedaLocalLK) al hijo, que sale ya evaluado con el coste del tour
+ * mejorado. Como el GA solo muta con probabilidad pm, para mejorar todos los
+ * hijos hay que usar pm = 1 (y, si se quiere, sin mutacion previa).
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionMemetica extends OpMutacion<Integer> {
+	private final OpMutacion<Integer> mutacion; // null: solo busqueda local
+	private final BusquedaLocal2Opt busqueda;
+	private final double probBusqueda; // probabilidad de aplicar la busqueda local
+
+	/**
+	 * Constructor (busqueda local sobre todos los hijos mutados)
+	 * @param mutacion la mutacion previa (null para no mutar)
+	 * @param busqueda la busqueda local
+	 */
+	public OpMutacionMemetica(OpMutacion<Integer> mutacion, BusquedaLocal2Opt busqueda) {
+		this(mutacion, busqueda, 1.0);
+	}
+
+	/**
+	 * Constructor
+	 * @param mutacion     la mutacion previa (null para no mutar)
+	 * @param busqueda     la busqueda local
+	 * @param probBusqueda probabilidad de aplicar la busqueda local (entre 0 y 1)
+	 */
+	public OpMutacionMemetica(OpMutacion<Integer> mutacion, BusquedaLocal2Opt busqueda, double probBusqueda) {
+		if (!(probBusqueda >= 0.0 && probBusqueda <= 1.0)) {
+			throw new IllegalArgumentException("La probabilidad debe estar entre 0 y 1: " + probBusqueda);
+		}
+		this.mutacion = mutacion;
+		this.busqueda = busqueda;
+		this.probBusqueda = probBusqueda;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacion#apply(ga.Individuo)
+	 */
+	@Override
+	public Individuo<Integer> apply(Individuo<Integer> individual) {
+		Individuo<Integer> hijo = (mutacion != null ? mutacion.apply(individual) : individual);
+		if (probBusqueda >= 1.0 || Util.randomDouble() < probBusqueda) {
+			return busqueda.mejorar(hijo);
+		}
+		return (hijo == individual ? individual.copia() : hijo);
+	}
+}
@@ -0,0 +1,57 @@
+package tsp;
+
+import ga.Individuo;
+import ga.IndividuoPerm;
+import ga.OpMutacion;
+import ga.OpMutacionPerm;
+
+/**
+ * OpMutacionRangoDelta
+ * Envuelve una mutacion de permutaciones (OpMutacionPerm: inversion, insercion,
+ * scramble, or-opt...) y calcula el coste del hijo de forma incremental: la
+ * mutacion informa del rango de posiciones que ha cambiado, asi que solo hay
+ * que restar el coste de ese tramo en el padre y sumar el del hijo, en
+ * O(longitud del tramo) en lugar de O(n). Si el padre no esta evaluado el hijo
+ * sale sin evaluar, como con OpMutacionSwapDelta.
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionRangoDelta extends OpMutacion<Integer> {
+	private final ProblemaTSP p; // para las distancias
+	private final OpMutacionPerm op; // mutacion que se aplica
+
+	/**
+	 * Constructor
+	 * @param p  el problema
+	 * @param op la mutacion que se aplica
+	 */
+	public OpMutacionRangoDelta(ProblemaTSP p, OpMutacionPerm op) {
+		this.p = p;
+		this.op = op;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacion#apply(ga.Individuo)
+	 */
+	@Override
+	public Individuo<Integer> apply(Individuo<Integer> individual) {
+		int[] padre = IndividuoPerm.genesDe(individual);
+		int[] ruta = padre.clone();
+		int[] rango = new int[2];
+		op.muta(ruta, rango);
+		IndividuoPerm hijo = new IndividuoPerm(ruta);
+		if (individual instanceof IndividuoPerm && individual.isEvaluado()
+				&& !Double.isNaN(((IndividuoPerm) individual).getCoste())) {
+			double coste = ((IndividuoPerm) individual).getCoste();
+			if (rango[0] <= rango[1]) {
+				// cambian las aristas entre las posiciones rango[0]-1 y rango[1]+1
+				coste += p.costeTramo(ruta, rango[0] - 1, rango[1] + 1)
+						- p.costeTramo(padre, rango[0] - 1, rango[1] + 1);
+			}
+			hijo.setCoste(coste);
+			hijo.setFitness(SolucionTSP.fitnessDeCoste(coste));
+		}
+		return hijo;
+	}
+}
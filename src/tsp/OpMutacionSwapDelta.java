@@ -0,0 +1,61 @@
+package tsp;
+
+import ga.Individuo;
+import ga.IndividuoPerm;
+import ga.OpMutacion;
+import ga.Util;
+
+/**
+ * OpMutacionSwapDelta
+ * Mutacion "swap" (como OpMutacionSwap) que ademas calcula la variacion del
+ * coste del tour: al intercambiar dos ciudades solo cambian las aristas que las
+ * tocan, asi que si el padre ya esta evaluado el hijo sale evaluado en O(1),
+ * sin pasar por OpDecodTSP
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class OpMutacionSwapDelta extends OpMutacion<Integer> {
+	private final ProblemaTSP p; // para las distancias
+
+	/**
+	 * Constructor
+	 * @param p el problema
+	 */
+	public OpMutacionSwapDelta(ProblemaTSP p) {
+		this.p = p;
+	}
+
+	/* (non-Javadoc)
+	 * @see ga.OpMutacion#apply(ga.Individuo)
+	 */
+	@Override
+	public Individuo<Integer> apply(Individuo<Integer> individual) {
+		int[] ruta = IndividuoPerm.genesDe(individual).clone();
+		double delta = muta(ruta);
+		IndividuoPerm hijo = new IndividuoPerm(ruta);
+		if (individual instanceof IndividuoPerm && individual.isEvaluado()
+				&& !Double.isNaN(((IndividuoPerm) individual).getCoste())) {
+			double coste = ((IndividuoPerm) individual).getCoste() + delta;
+			hijo.setCoste(coste);
+			hijo.setFitness(SolucionTSP.fitnessDeCoste(coste));
+		}
+		return hijo;
+	}
+
+	/**
+	 * muta
+	 * Intercambia dos posiciones aleatorias de la ruta (en el sitio)
+	 * @param ruta la ruta (se modifica)
+	 * @return la variacion del coste del tour
+	 */
+	public double muta(int[] ruta) {
+		int pos1 = Util.randomInt(ruta.length); // posicion del primer elemento a intercambiar
+		int pos2 = Util.randomInt(ruta.length); // posicion del segundo elemento a intercambiar
+		double delta = p.deltaIntercambio(ruta, pos1, pos2); // antes de intercambiar
+		int aux = ruta[pos1];
+		ruta[pos1] = ruta[pos2];
+		ruta[pos2] = aux;
+		return delta;
+	}
+}
@@ -2,8 +2,12 @@ package tsp;
 
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ga.Util;
 
 /**
  * Clase ProblemaTSP
@@ -16,8 +20,36 @@ import java.util.Scanner;
  *
  */
 public class ProblemaTSP {
+
+	/**
+	 * Como se dan las distancias (EDGE_WEIGHT_TYPE de tsplib): en una matriz
+	 * explicita o calculadas a partir de las coordenadas de las ciudades
+	 */
+	public enum TipoDistancia {
+		/** matriz de distancias explicita */
+		EXPLICIT,
+		/** distancia euclidea redondeada al entero mas cercano */
+		EUC_2D,
+		/** distancia euclidea redondeada hacia arriba */
+		CEIL_2D,
+		/** distancia geografica en km (coordenadas en grados.minutos de latitud y longitud) */
+		GEO,
+		/** distancia pseudo-euclidea de las instancias att */
+		ATT
+	}
+
+	private static final double PI_GEO = 3.141592; // valor de pi que usa tsplib para GEO
+	private static final double RADIO_GEO = 6378.388; // radio de la tierra en km para GEO
+
 	private Ciudad[] ciudades; // ciudades a visitar (incluyendo ciudad 0, origen)
-	private double[][] distancias; // distancias entre ciudades
+	private double[][] distancias; // distancias entre ciudades (null si se calculan a partir de coordenadas)
+	private TipoDistancia tipoDistancia = TipoDistancia.EXPLICIT;
+	private double[] coordX, coordY; // coordenadas de las ciudades (si no son EXPLICIT)
+	private double[] latitud, longitud; // coordenadas de GEO en radianes
+	private AtomicLongArray cache; // cache de distancias calculadas (null si no hay)
+	private int bitsValorCache; // bits de cada entrada de la cache para la distancia
+	private int numVecinosCercanos = 10; // tamanio de las listas de candidatos
+	private int[][] vecinosCercanos; // listas de candidatos (se calculan la primera vez que se piden)
 
 	// CONSTRUCTORES
 	/**
@@ -30,6 +62,20 @@ public class ProblemaTSP {
 		setCiudades( nombresCiudades );
 		setDistancias( distancias );
 	}
+
+	/**
+	 * Constructor a partir de las coordenadas de las ciudades: las distancias se
+	 * calculan cuando se piden, asi que la memoria es O(N) en vez de O(N^2)
+	 * @param nombresCiudades, vector de nombres
+	 * @param x, coordenada x de cada ciudad (latitud en GEO)
+	 * @param y, coordenada y de cada ciudad (longitud en GEO)
+	 * @param tipo, como se calcula la distancia (no puede ser EXPLICIT)
+	 */
+	public ProblemaTSP( String[] nombresCiudades, double[] x, double[] y, TipoDistancia tipo ) {
+		assert( nombresCiudades.length == x.length );
+		setCiudades( nombresCiudades );
+		setCoordenadas( x, y, tipo );
+	}
 	
 	/**
 	 * constructor a partir de fichero
@@ -51,7 +97,13 @@ public class ProblemaTSP {
 	 */
 	public ProblemaTSP( ProblemaTSP otro ) {
 		setCiudades( otro.getCiudades());
-		setDistancias(otro.getDistancias());
+		if( otro.distancias!=null )
+			setDistancias(otro.getDistancias());
+		else {
+			setCoordenadas(otro.coordX, otro.coordY, otro.tipoDistancia);
+			setTamCache(otro.getTamCache());
+		}
+		numVecinosCercanos = otro.numVecinosCercanos;
 	}
 
 	// OBSERVADORES Y MODIFICADORES
@@ -101,10 +153,85 @@ public class ProblemaTSP {
 		for( int i=0; i<dist.length; i++)
 			for( int j=0; j<dist[0].length; j++ )
 				distancias[i][j]=dist[i][j];
+		tipoDistancia = TipoDistancia.EXPLICIT;
+		coordX = coordY = latitud = longitud = null;
+		cache = null;
+		vecinosCercanos = null; // las listas de candidatos ya no valen
+	}
+
+	/** modificador "copia" de las coordenadas: a partir de aqui las distancias
+	 * se calculan con ellas (y se olvida la matriz de distancias, si la habia)
+	 * @param x, coordenada x de cada ciudad (latitud en GEO)
+	 * @param y, coordenada y de cada ciudad (longitud en GEO)
+	 * @param tipo, como se calcula la distancia (no puede ser EXPLICIT)
+	 */
+	public void setCoordenadas( double[] x, double[] y, TipoDistancia tipo ) {
+		if( tipo==TipoDistancia.EXPLICIT )
+			throw new IllegalArgumentException("Con coordenadas la distancia no puede ser EXPLICIT");
+		if( x.length!=ciudades.length || y.length!=ciudades.length )
+			throw new IllegalArgumentException("Hace falta una coordenada por ciudad: " + ciudades.length);
+		coordX = x.clone();
+		coordY = y.clone();
+		latitud = longitud = null;
+		if( tipo==TipoDistancia.GEO ) {
+			latitud = new double[x.length];
+			longitud = new double[y.length];
+			for( int i=0; i<x.length; i++ ) {
+				latitud[i] = aRadianesGeo(x[i]);
+				longitud[i] = aRadianesGeo(y[i]);
+			}
+		}
+		tipoDistancia = tipo;
+		distancias = null;
+		if( cache!=null )
+			setTamCache(cache.length()); // las distancias guardadas ya no valen
+		vecinosCercanos = null; // las listas de candidatos ya no valen
+	}
+
+	/**
+	 * @return como se dan las distancias (EXPLICIT si hay matriz)
+	 */
+	public TipoDistancia getTipoDistancia() {
+		return tipoDistancia;
+	}
+
+	/**
+	 * Cache de distancias para las instancias con coordenadas: una tabla de
+	 * tamanio fijo (sin colisiones resueltas, la entrada nueva machaca a la
+	 * vieja) donde se guardan las ultimas distancias calculadas. Solo compensa
+	 * si calcular la distancia es caro (GEO); en EUC_2D suele ser mas rapido
+	 * calcularla otra vez. Se puede usar desde varios hilos a la vez.
+	 * @param entradas numero de distancias guardadas (se redondea a potencia de
+	 *        2); 0 para no usar cache
+	 */
+	public void setTamCache( int entradas ) {
+		if( entradas<0 )
+			throw new IllegalArgumentException("El tamanio de la cache no puede ser negativo: " + entradas);
+		if( entradas==0 || distancias!=null ) {
+			cache = null;
+			return;
+		}
+		long n = ciudades.length;
+		int bitsClave = 64 - Long.numberOfLeadingZeros(n*n); // clave: i*n+j con i<j
+		bitsValorCache = 64 - bitsClave;
+		int bits = Math.max(1, Math.min(30, 32 - Integer.numberOfLeadingZeros(entradas-1)));
+		AtomicLongArray c = new AtomicLongArray(1 << bits);
+		for( int k=0; k<c.length(); k++ )
+			c.setPlain(k, -1L); // clave imposible: entrada vacia
+		cache = c;
+	}
+
+	/**
+	 * @return el numero de distancias que caben en la cache (0 si no hay)
+	 */
+	public int getTamCache() {
+		AtomicLongArray c = cache;
+		return ( c==null ? 0 : c.length() );
 	}
 	
 	/** observador
-	 * @return la matriz de distancias
+	 * @return la matriz de distancias (null si las distancias se calculan a
+	 *         partir de las coordenadas)
 	 */
 	public double[][] getDistancias(){
 		return distancias;
@@ -124,8 +251,10 @@ public class ProblemaTSP {
 	 * @return la distancia entre las ciudades i y j
 	 */
 	public double getDistEntre(int i, int j) {
-		if( 0<=i && i<= getNumCiudades() && 0<=j && j<=getNumCiudades() )
-			return distancias[i][j];
+		if( 0<=i && i<= getNumCiudades() && 0<=j && j<=getNumCiudades() ) {
+			double[][] d = distancias;
+			return ( d!=null ? d[i][j] : distCoordenadas(i, j) );
+		}
 		else
 			return Integer.MAX_VALUE;
 	}
@@ -134,13 +263,256 @@ public class ProblemaTSP {
 	 * @param i
 	 * @param j
 	 * @param v
-	 * modifica la distancia entre i y j al valor v
+	 * modifica la distancia entre i y j al valor v (solo si hay matriz de
+	 * distancias; con coordenadas lanza IllegalStateException)
 	 */
 	public void setDistEntre(int i, int j, double v) {
-		if( 0<=i && i<= getNumCiudades() && 0<=j && j<=getNumCiudades() )
+		if( distancias==null )
+			throw new IllegalStateException("Las distancias se calculan a partir de las coordenadas");
+		if( 0<=i && i<= getNumCiudades() && 0<=j && j<=getNumCiudades() ) {
 			distancias[i][j]=v;
+			vecinosCercanos = null; // las listas de candidatos ya no valen
+		}
+	}
+
+	/**
+	 * @return el numero de vecinos mas cercanos de cada ciudad en las listas de
+	 *         candidatos
+	 */
+	public int getNumVecinosCercanos() {
+		return numVecinosCercanos;
+	}
+
+	/**
+	 * Cambia el tamanio de las listas de candidatos (se recalculan la proxima vez
+	 * que se pidan)
+	 * @param k numero de vecinos mas cercanos de cada ciudad (>= 1)
+	 */
+	public synchronized void setNumVecinosCercanos( int k ) {
+		if( k<1 )
+			throw new IllegalArgumentException("El numero de vecinos cercanos debe ser al menos 1: " + k);
+		if( k!=numVecinosCercanos ) {
+			numVecinosCercanos = k;
+			vecinosCercanos = null;
+		}
+	}
+
+	/**
+	 * Listas de candidatos para la busqueda local: para cada ciudad (incluido el
+	 * origen), sus k ciudades mas cercanas ordenadas de mas cerca a mas lejos (k
+	 * es getNumVecinosCercanos(), o todas las demas si hay menos). Se calculan
+	 * una sola vez por instancia, en O(N^2) (o con una rejilla si hay
+	 * coordenadas planas), y se comparten: no hay que modificarlas.
+	 * @return vecinos[i] = las ciudades mas cercanas a i
+	 */
+	public synchronized int[][] getVecinosCercanos() {
+		if( vecinosCercanos==null ) {
+			int N = ciudades.length;
+			int k = Math.min(numVecinosCercanos, N-1);
+			if( coordX!=null ) {
+				vecinosCercanos = ( tipoDistancia==TipoDistancia.GEO ? vecinosGeo(k) : vecinosPorRejilla(k) );
+				return vecinosCercanos;
+			}
+			int[][] vecinos = new int[N][];
+			int[] idx = new int[N-1];
+			double[] dist = new double[N];
+			for( int i=0; i<N; i++ ) {
+				int m = 0;
+				for( int j=0; j<N; j++ ) {
+					dist[j] = getDistEntre(i, j);
+					if( j!=i )
+						idx[m++] = j;
+				}
+				Util.particionaK(idx, dist, 0, m, k); // los k mas cercanos al principio...
+				Util.ordenaIndices(idx, dist, 0, k); // ... y ordenados
+				vecinos[i] = Arrays.copyOf(idx, k);
+			}
+			vecinosCercanos = vecinos;
+		}
+		return vecinosCercanos;
+	}
+
+	/**
+	 * Listas de candidatos para GEO: la distancia de tsplib es la del circulo
+	 * maximo, que crece con la distancia en linea recta entre los puntos de la
+	 * esfera, asi que se eligen los k mas cercanos con esta (sin trigonometria
+	 * en el bucle O(N^2)) y solo para ellos se calcula la distancia GEO
+	 * @param k numero de vecinos de cada ciudad
+	 * @return vecinos[i] = las k ciudades mas cercanas a i, ordenadas
+	 */
+	private int[][] vecinosGeo( int k ) {
+		int N = ciudades.length;
+		double[] px = new double[N], py = new double[N], pz = new double[N]; // puntos de la esfera unidad
+		for( int i=0; i<N; i++ ) {
+			px[i] = Math.cos(latitud[i]) * Math.cos(longitud[i]);
+			py[i] = Math.cos(latitud[i]) * Math.sin(longitud[i]);
+			pz[i] = Math.sin(latitud[i]);
+		}
+		int[][] vecinos = new int[N][];
+		int[] idx = new int[N-1];
+		double[] dist = new double[N];
+		for( int i=0; i<N; i++ ) {
+			int m = 0;
+			for( int j=0; j<N; j++ ) {
+				double dx = px[i]-px[j], dy = py[i]-py[j], dz = pz[i]-pz[j];
+				dist[j] = dx*dx + dy*dy + dz*dz;
+				if( j!=i )
+					idx[m++] = j;
+			}
+			Util.particionaK(idx, dist, 0, m, k); // los k mas cercanos en linea recta...
+			for( int a=0; a<k; a++ )
+				dist[idx[a]] = getDistEntre(i, idx[a]);
+			Util.ordenaIndices(idx, dist, 0, k); // ... ordenados por la distancia GEO
+			vecinos[i] = Arrays.copyOf(idx, k);
+		}
+		return vecinos;
+	}
+
+	/**
+	 * Listas de candidatos para las distancias que crecen con la euclidea
+	 * (EUC_2D, CEIL_2D y ATT) sin mirar todas las parejas: las ciudades se
+	 * reparten en una rejilla de unas dos por celda y para cada ciudad se
+	 * recorren las celdas en anillos cada vez mas lejanos hasta que sus k
+	 * vecinos mas cercanos ya no pueden estar fuera. Si las ciudades estan bien
+	 * repartidas cuesta O(N k log k) en vez de O(N^2).
+	 * @param k numero de vecinos de cada ciudad
+	 * @return vecinos[i] = las k ciudades mas cercanas a i, ordenadas
+	 */
+	private int[][] vecinosPorRejilla( int k ) {
+		int N = ciudades.length;
+		double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for( int i=0; i<N; i++ ) {
+			minX = Math.min(minX, coordX[i]); maxX = Math.max(maxX, coordX[i]);
+			minY = Math.min(minY, coordY[i]); maxY = Math.max(maxY, coordY[i]);
+		}
+		int lado = Math.max(1, (int)Math.sqrt(N/2.0)); // celdas por lado
+		double anchoX = ( maxX>minX ? (maxX-minX)/lado : 1 );
+		double anchoY = ( maxY>minY ? (maxY-minY)/lado : 1 );
+		double anchoMin = Math.min(anchoX, anchoY);
+		// reparto de las ciudades por celdas (ordenacion por cuentas)
+		int[] celdaX = new int[N], celdaY = new int[N];
+		int[] inicio = new int[lado*lado+1];
+		for( int i=0; i<N; i++ ) {
+			celdaX[i] = Math.min(lado-1, (int)((coordX[i]-minX)/anchoX));
+			celdaY[i] = Math.min(lado-1, (int)((coordY[i]-minY)/anchoY));
+			inicio[celdaY[i]*lado + celdaX[i] + 1]++;
+		}
+		for( int c=0; c<lado*lado; c++ )
+			inicio[c+1] += inicio[c];
+		int[] enCelda = new int[N];
+		int[] llenas = Arrays.copyOf(inicio, lado*lado);
+		for( int i=0; i<N; i++ )
+			enCelda[llenas[celdaY[i]*lado + celdaX[i]]++] = i;
+
+		int[][] vecinos = new int[N][];
+		int[] idx = new int[N-1];
+		double[] dist2 = new double[N]; // distancia euclidea al cuadrado a la ciudad i
+		double[] dist = new double[N];
+		for( int i=0; i<N; i++ ) {
+			int cx = celdaX[i], cy = celdaY[i];
+			int ultimoAnillo = Math.max(Math.max(cx, lado-1-cx), Math.max(cy, lado-1-cy));
+			int m = 0;
+			for( int r=0; ; r++ ) {
+				// celdas del anillo r: filas de arriba y abajo enteras, de las demas solo los extremos
+				for( int y=Math.max(0, cy-r); y<=Math.min(lado-1, cy+r); y++ ) {
+					int paso = ( y==cy-r || y==cy+r ? 1 : 2*r );
+					for( int x=cx-r; x<=cx+r; x+=paso ) {
+						if( x<0 || x>=lado )
+							continue;
+						for( int p=inicio[y*lado+x]; p<inicio[y*lado+x+1]; p++ ) {
+							int j = enCelda[p];
+							if( j==i )
+								continue;
+							double dx = coordX[i]-coordX[j], dy = coordY[i]-coordY[j];
+							dist2[j] = dx*dx + dy*dy;
+							idx[m++] = j;
+						}
+					}
+				}
+				if( r==ultimoAnillo )
+					break;
+				if( m>=k ) {
+					// fuera del anillo r todo esta a mas de r celdas
+					Util.particionaK(idx, dist2, 0, m, k);
+					double kesimo = 0;
+					for( int a=0; a<k; a++ )
+						kesimo = Math.max(kesimo, dist2[idx[a]]);
+					if( kesimo <= (r*anchoMin)*(r*anchoMin) )
+						break;
+				}
+			}
+			// entre las recogidas estan las k mas cercanas: se eligen con la distancia del problema
+			for( int a=0; a<m; a++ )
+				dist[idx[a]] = getDistEntre(i, idx[a]);
+			Util.particionaK(idx, dist, 0, m, k);
+			Util.ordenaIndices(idx, dist, 0, k);
+			vecinos[i] = Arrays.copyOf(idx, k);
+		}
+		return vecinos;
 	}
 	
+	/**
+	 * @param ruta permutacion de las ciudades 1..N (sin el origen)
+	 * @return el coste del tour origen -> ruta -> origen
+	 */
+	public double costeRuta( int[] ruta ) {
+		double coste = getDistEntre(0, ruta[0]);
+		for( int i=0; i<ruta.length-1; i++ )
+			coste += getDistEntre(ruta[i], ruta[i+1]);
+		return coste + getDistEntre(ruta[ruta.length-1], 0);
+	}
+
+	/**
+	 * costeTramo
+	 * Coste de las aristas de la ruta entre las posiciones desde y hasta, contando
+	 * como origen las posiciones -1 y ruta.length (costeTramo(ruta, -1, ruta.length)
+	 * es el coste del tour completo)
+	 * @param ruta permutacion de las ciudades 1..N (sin el origen)
+	 * @param desde primera posicion del tramo (>= -1)
+	 * @param hasta ultima posicion del tramo (<= ruta.length)
+	 * @return la suma de las distancias entre posiciones consecutivas del tramo
+	 */
+	public double costeTramo( int[] ruta, int desde, int hasta ) {
+		double coste = 0;
+		for( int k=desde; k<hasta; k++ )
+			coste += getDistEntre(ciudadEn(ruta, k), ciudadEn(ruta, k+1));
+		return coste;
+	}
+
+	/**
+	 * deltaIntercambio
+	 * Variacion del coste del tour origen -> ruta -> origen al intercambiar las
+	 * ciudades de las posiciones i y j; solo cambian las (como mucho) cuatro
+	 * aristas que tocan a esas dos posiciones, asi que cuesta O(1)
+	 * @param ruta permutacion de las ciudades 1..N (sin el origen)
+	 * @param i una posicion de la ruta
+	 * @param j otra posicion de la ruta
+	 * @return coste tras el intercambio - coste antes del intercambio
+	 */
+	public double deltaIntercambio( int[] ruta, int i, int j ) {
+		if( i==j )
+			return 0;
+		if( i>j ) {
+			int aux=i; i=j; j=aux;
+		}
+		int a = ciudadEn(ruta, i-1), b = ruta[i], c = ciudadEn(ruta, i+1);
+		int d = ciudadEn(ruta, j-1), e = ruta[j], f = ciudadEn(ruta, j+1);
+		if( j==i+1 ) // a b e f -> a e b f
+			return getDistEntre(a,e) + getDistEntre(e,b) + getDistEntre(b,f)
+				- getDistEntre(a,b) - getDistEntre(b,e) - getDistEntre(e,f);
+		// a b c ... d e f -> a e c ... d b f
+		return getDistEntre(a,e) + getDistEntre(e,c) + getDistEntre(d,b) + getDistEntre(b,f)
+			- getDistEntre(a,b) - getDistEntre(b,c) - getDistEntre(d,e) - getDistEntre(e,f);
+	}
+
+	/**
+	 * @return la ciudad en la posicion k de la ruta, o el origen si k se sale de ella
+	 */
+	private static int ciudadEn( int[] ruta, int k ) {
+		return ( k<0 || k>=ruta.length ? 0 : ruta[k] );
+	}
+
 	/**
 	 * @return el origen del tour
 	 */
@@ -162,95 +534,176 @@ public class ProblemaTSP {
 	
 	// METODOS PRIVADOS (AUXILIARES)
 
+	/**
+	 * Distancia entre las ciudades i y j a partir de las coordenadas, mirando
+	 * antes en la cache si la hay. Cada entrada de la cache es un long con la
+	 * clave i*N+j (i<j) en los bits altos y la distancia en los bajos, asi que
+	 * se lee y se escribe de una vez aunque la usen varios hilos.
+	 */
+	private double distCoordenadas( int i, int j ) {
+		if( i==j )
+			return 0;
+		AtomicLongArray c = cache;
+		if( c==null )
+			return calculaDist(i, j);
+		if( i>j ) {
+			int aux=i; i=j; j=aux;
+		}
+		long clave = (long)i*ciudades.length + j;
+		int pos = (int)((clave * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(c.length())));
+		long entrada = c.getOpaque(pos);
+		if( (entrada >>> bitsValorCache) == clave )
+			return entrada & ((1L << bitsValorCache) - 1);
+		double d = calculaDist(i, j);
+		if( d < (1L << bitsValorCache) - 1 ) // si no cabe no se guarda
+			c.setOpaque(pos, (clave << bitsValorCache) | (long)d);
+		return d;
+	}
+
+	/**
+	 * Distancia entre las ciudades i y j (distintas) segun las formulas de tsplib
+	 */
+	private double calculaDist( int i, int j ) {
+		switch( tipoDistancia ) {
+		case GEO:
+			double q1 = Math.cos(longitud[i] - longitud[j]);
+			double q2 = Math.cos(latitud[i] - latitud[j]);
+			double q3 = Math.cos(latitud[i] + latitud[j]);
+			return Math.floor(RADIO_GEO * Math.acos(0.5*((1.0+q1)*q2 - (1.0-q1)*q3)) + 1.0);
+		case ATT:
+			double dxA = coordX[i]-coordX[j], dyA = coordY[i]-coordY[j];
+			double r = Math.sqrt((dxA*dxA + dyA*dyA) / 10.0);
+			double t = Math.floor(r + 0.5);
+			return ( t<r ? t+1 : t );
+		case CEIL_2D:
+			double dxC = coordX[i]-coordX[j], dyC = coordY[i]-coordY[j];
+			return Math.ceil(Math.sqrt(dxC*dxC + dyC*dyC));
+		case EUC_2D:
+			double dx = coordX[i]-coordX[j], dy = coordY[i]-coordY[j];
+			return Math.floor(Math.sqrt(dx*dx + dy*dy) + 0.5);
+		default:
+			throw new IllegalStateException("No hay coordenadas: " + tipoDistancia);
+		}
+	}
+
+	/**
+	 * Pasa una coordenada GEO de tsplib (grados.minutos) a radianes
+	 */
+	private static double aRadianesGeo( double v ) {
+		int grados = (int)v;
+		double minutos = v - grados;
+		return PI_GEO * (grados + 5.0*minutos/3.0) / 180.0;
+	}
+
 	
 	/** Metodo algo chapuza para leer de fichero el problema
 	 * Se supone que el fichero sigue el formato de tsplib
 	 * (ver http://vrp.atd-lab.inf.puc-rio.br/attachments/article/6/TSPLIB%2095.pdf)
 	 * por el momento solo lee distancias explicitas en 2 formatos concretos
+	 * (UPPER_ROW y LOWER_DIAG_ROW) o coordenadas (NODE_COORD_SECTION) con
+	 * distancias EUC_2D, CEIL_2D, GEO o ATT, que no se guardan sino que se
+	 * calculan cuando se piden
 	 * @param nomFich
 	 * @throws Exception
 	 */
 	private void leeDeFichero( String nomFich ) throws Exception {
 		int dimension = 0;
-		try {
-			// 
-			Scanner dis = new Scanner(new FileInputStream(nomFich));
-			String s="";
-			// tiene que ser de tipo TSP
-			while (dis.hasNext() && !s.contains("TSP")) {
-				s = dis.next();
+		try ( Scanner dis = new Scanner(new FileInputStream(nomFich)) ) {
+			// LEEMOS LA CABECERA: lineas "CLAVE: valor" hasta la seccion de datos
+			String tipo = "", tipoPesos = "EXPLICIT", formato = null, seccion = null;
+			while( seccion==null && dis.hasNextLine() ) {
+				String linea = dis.nextLine().trim();
+				int dosPuntos = linea.indexOf(':');
+				String clave = ( dosPuntos<0 ? linea : linea.substring(0, dosPuntos) ).trim();
+				String valor = ( dosPuntos<0 ? "" : linea.substring(dosPuntos+1) ).trim();
+				switch( clave ) {
+				case "TYPE": tipo = valor; break;
+				case "DIMENSION": dimension = Integer.parseInt(valor); break;
+				case "EDGE_WEIGHT_TYPE": tipoPesos = valor; break;
+				case "EDGE_WEIGHT_FORMAT": formato = valor; break;
+				case "EDGE_WEIGHT_SECTION":
+				case "NODE_COORD_SECTION": seccion = clave; break;
+				default: // NAME, COMMENT... no hacen falta
+				}
 			}
-			if (!s.contains("TSP")) {
-				dis.close();
+			// tiene que ser de tipo TSP
+			if (!tipo.contains("TSP"))
 				throw new Exception("Mal los datos... no es un problema TSP");
-			}
-			// LEEMOS DIMENSION (numero de ciudades incluido el origen)
-			while (dis.hasNext() && !s.contains("DIMENSION:")) {
-				s = dis.next();
-			}
-			if (s.contains("DIMENSION:")) {
-				dimension = dis.nextInt();
-				System.out.println("leida dimension: " + dimension);
-				s=dis.nextLine(); // terminamos la linea
-			}
-			else {
-				dis.close();
+			// DIMENSION (numero de ciudades incluido el origen)
+			if (dimension <= 0)
 				throw new Exception("Mal los datos... no hay dimension");
-			}
 			// CREAMOS LISTA DE CIUDADES
 			Ciudad[] vCity = new Ciudad [dimension];		    
 			for (int i = 0; i<dimension; i++){
 				vCity[i] = new Ciudad(i);
 			}
 			setCiudades(vCity);
-			// Comprobamos que se dan las distancias explicitas
-			s=dis.nextLine();
-			if(!s.contains("EXPLICIT")) {
-				dis.close();
-				throw new Exception("Mal los datos ... los pesos no son explicitos");
+			TipoDistancia tipoDist;
+			try {
+				tipoDist = TipoDistancia.valueOf(tipoPesos);
 			}
-			// leemos el formato en que se dan las distancias
-			s=dis.next();
-			if(!s.equals("EDGE_WEIGHT_FORMAT:")) {
-				dis.close();
-				throw new Exception("Mal los datos ... no se da el formato de los pesos");
+			catch(IllegalArgumentException e) {
+				throw new Exception("Mal los datos ... tipo de distancia no soportado: " + tipoPesos);
 			}
-			String formato=dis.next(); // formato de las distancias
-			dis.nextLine();// terminamos la linea
-			dis.nextLine();// leemos la siguiente linea "EDGE_WEIGHT_SECTION"
-			// LEEMOS DISTANCIAS
-			double[][] dist = new double[dimension][dimension];
-			switch(formato) {
-			case "UPPER_ROW": // matriz triangular superior sin diagonal
-				for (int i = 0; i < dimension-1; i++) {
-					for (int j = i+1; j < dimension; j++) {
-						int x = dis.nextInt();
-						dist[i][j] = dist[j][i] = x;
-					}
-				}
-				
-				break;
-			case "LOWER_DIAG_ROW": // matriz diagonal inferior incluida diagonal		
-				for (int i=0; i<dimension; i++){
-					for (int j=0; j<i+1; j++){
-						int x = dis.nextInt();
-						dist[i][j]=dist[j][i]= (double)x; // aniade distancia simetrica
-					}
+			if (tipoDist == TipoDistancia.EXPLICIT) {
+				if (formato == null)
+					throw new Exception("Mal los datos ... no se da el formato de los pesos");
+				if (!"EDGE_WEIGHT_SECTION".equals(seccion))
+					throw new Exception("Mal los datos ... no se dan las distancias");
+				setDistancias(leeDistancias(dis, dimension, formato));
+			}
+			else {
+				if (!"NODE_COORD_SECTION".equals(seccion))
+					throw new Exception("Mal los datos ... no se dan las coordenadas");
+				// LEEMOS COORDENADAS: "nodo x y", con los nodos numerados desde 1 (el 1 es el origen)
+				double[] x = new double[dimension], y = new double[dimension];
+				for (int k = 0; k < dimension; k++) {
+					int nodo = dis.nextInt();
+					if (nodo < 1 || nodo > dimension)
+						throw new Exception("Mal los datos ... nodo fuera de rango: " + nodo);
+					x[nodo-1] = Double.parseDouble(dis.next()); // sin nextDouble: no depende del Locale
+					y[nodo-1] = Double.parseDouble(dis.next());
 				}
-				break;
-			default:
-				dis.close();
-				throw new Exception("Mal los datos ... Formato no soportado");
-			
+				setCoordenadas(x, y, tipoDist);
 			}
-			dis.close();
-			setDistancias(dist);
 		}// fin try
-		catch(Exception e) {
-			throw e;
-
-		}// fin catch
 
 	}// fin metodo leer de fichero
 
+	/**
+	 * Lee la matriz de distancias explicita (EDGE_WEIGHT_SECTION)
+	 * @param dis       el fichero, justo despues de la linea EDGE_WEIGHT_SECTION
+	 * @param dimension numero de ciudades incluido el origen
+	 * @param formato   UPPER_ROW o LOWER_DIAG_ROW
+	 * @return la matriz de distancias
+	 * @throws Exception si el formato no esta soportado
+	 */
+	private static double[][] leeDistancias( Scanner dis, int dimension, String formato ) throws Exception {
+		double[][] dist = new double[dimension][dimension];
+		switch(formato) {
+		case "UPPER_ROW": // matriz triangular superior sin diagonal
+			for (int i = 0; i < dimension-1; i++) {
+				for (int j = i+1; j < dimension; j++) {
+					int x = dis.nextInt();
+					dist[i][j] = dist[j][i] = x;
+				}
+			}
+			
+			break;
+		case "LOWER_DIAG_ROW": // matriz diagonal inferior incluida diagonal		
+			for (int i=0; i<dimension; i++){
+				for (int j=0; j<i+1; j++){
+					int x = dis.nextInt();
+					dist[i][j]=dist[j][i]= (double)x; // aniade distancia simetrica
+				}
+			}
+			break;
+		default:
+			throw new Exception("Mal los datos ... Formato no soportado");
+		
+		}
+		return dist;
+
+	}
+
 }
@@ -0,0 +1,110 @@
+package tsp;
+
+import ga.IndividuoPerm;
+
+/**
+ * Clase ResultadoBusquedaLocal
+ * Resultado de una busqueda local que se puede interrumpir (ver
+ * BusquedaLocal2Opt.mejorar con plazo): el mejor tour encontrado, que es el
+ * ultimo porque solo se aplican movimientos que mejoran, y lo que ha costado
+ * llegar a el (movimientos aplicados, ganancia y tiempo) junto con el motivo
+ * por el que se ha parado.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class ResultadoBusquedaLocal {
+
+	/**
+	 * Motivo por el que termina una busqueda local
+	 */
+	public enum Parada {
+		/** ningun movimiento mejora: el tour es un optimo local */
+		OPTIMO_LOCAL,
+		/** se ha aplicado el numero maximo de movimientos */
+		MOVIMIENTOS,
+		/** se ha llegado al plazo (o al tiempo maximo de la busqueda) */
+		TIEMPO,
+		/** se ha pedido la cancelacion desde fuera */
+		CANCELADA
+	}
+
+	private final IndividuoPerm individuo;
+	private final int movimientos;
+	private final double ganancia;
+	private final long nanos;
+	private final Parada parada;
+
+	/**
+	 * Constructor
+	 * @param individuo   el mejor tour encontrado (evaluado)
+	 * @param movimientos movimientos aplicados
+	 * @param ganancia    lo que ha bajado el coste del tour (>= 0)
+	 * @param nanos       duracion de la busqueda en nanosegundos
+	 * @param parada      motivo por el que ha terminado
+	 */
+	ResultadoBusquedaLocal(IndividuoPerm individuo, int movimientos, double ganancia, long nanos, Parada parada) {
+		this.individuo = individuo;
+		this.movimientos = movimientos;
+		this.ganancia = ganancia;
+		this.nanos = nanos;
+		this.parada = parada;
+	}
+
+	/**
+	 * @return el mejor tour encontrado, ya evaluado (con su coste y su fitness)
+	 */
+	public IndividuoPerm getIndividuo() {
+		return individuo;
+	}
+
+	/**
+	 * @return el coste del mejor tour encontrado
+	 */
+	public double getCoste() {
+		return individuo.getCoste();
+	}
+
+	/**
+	 * @return el numero de movimientos aplicados (en BusquedaLocalLK, cada
+	 *         cadena de movimientos 2-opt cuenta como uno)
+	 */
+	public int getMovimientos() {
+		return movimientos;
+	}
+
+	/**
+	 * @return lo que ha bajado el coste del tour (>= 0)
+	 */
+	public double getGanancia() {
+		return ganancia;
+	}
+
+	/**
+	 * @return la duracion de la busqueda en nanosegundos
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * @return el motivo por el que ha terminado la busqueda
+	 */
+	public Parada getParada() {
+		return parada;
+	}
+
+	/**
+	 * @return true si el tour es un optimo local (la busqueda no se ha
+	 *         interrumpido)
+	 */
+	public boolean isCompleta() {
+		return parada == Parada.OPTIMO_LOCAL;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(java.util.Locale.ROOT, "coste %.1f (ganancia %.1f) en %d movimientos y %.3f ms: %s",
+				getCoste(), ganancia, movimientos, nanos / 1e6, parada);
+	}
+}
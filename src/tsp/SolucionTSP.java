@@ -13,7 +13,7 @@ import ga.Solucion;
  * @version 2017.11.*
  */
 public class SolucionTSP implements Solucion{
-	private static ProblemaTSP p;// problema para el que es solucion
+	private final ProblemaTSP p;// problema para el que es solucion
 	private List<Ciudad> recorrido; // recorrido/ruta de la solucion
 	private double coste; // coste de este recorrido
 
@@ -22,7 +22,7 @@ public class SolucionTSP implements Solucion{
 	 * @param p la instancia del problema de TSP para la que es solucion
 	 */
 	public SolucionTSP( ProblemaTSP p ) {
-		SolucionTSP.p=p;
+		this.p=p;
 		recorrido=new ArrayList<Ciudad>(p.getNumCiudades()+2); // origen->ciudades->origen
 		recorrido.add(p.getOrigen());
 		coste=0;
@@ -72,7 +72,16 @@ public class SolucionTSP implements Solucion{
 	
 	// de la interfaz Solucion
 	public double getFitness() {
-		return ( getCoste()!=0 ? 1.0/getCoste() : Double.MAX_VALUE); // devolvemos el inverso del coste de la solucion (si no es 0)
+		return fitnessDeCoste( getCoste() );
+	}
+	
+	/**
+	 * fitnessDeCoste
+	 * @param coste el coste (longitud) de un recorrido
+	 * @return el fitness asociado: el inverso del coste (si no es 0)
+	 */
+	public static double fitnessDeCoste( double coste ) {
+		return ( coste!=0 ? 1.0/coste : Double.MAX_VALUE);
 	}
 	
 	// de Object
@@ -22,18 +22,35 @@ public class TesterTSP {
 		// OPERADORES
 		// operador para generar cromosomas aleatorios
 		OpGeneracion<Integer> opGen = new OpGenRandNoRep<>(prob.getAlfabeto(), prob.getNumCiudades());
+		// cromosomas sobre int[] (usar junto con los operadores *Perm)
+		// OpGeneracion<Integer> opGen = new OpGenRandPerm(prob.getAlfabeto(), prob.getNumCiudades());
 		// operador de cruce: (des)comentar segun el que se quiera usar
 		OpCruce<Integer> opCruce = new OpCruce1PuntoNoRep<>();
 		// OpCruce<Integer> opCruce = new OpCruce2PuntosNoRep<>();
+		// OpCruce<Integer> opCruce = new OpCruce1PuntoPerm();
+		// OpCruce<Integer> opCruce = new OpCruce2PuntosPerm();
+		// OpCruce<Integer> opCruce = new OpCrucePMXPerm();
+		// OpCruce<Integer> opCruce = new OpCruceCXPerm();
+		// OpCruce<Integer> opCruce = new OpCruceAristasPerm(); // recombinacion de aristas (ERX)
 		// operador de mutacion
 		OpMutacion<Integer> opMut = new OpMutacionSwap<>();
+		// OpMutacion<Integer> opMut = new OpMutacionSwapPerm();
+		// OpMutacion<Integer> opMut = new OpMutacionSwapDelta(prob); // coste incremental (con los *Perm)
+		// OpMutacion<Integer> opMut = new OpMutacionRangoDelta(prob, new OpMutacionInversionPerm()); // tambien Insercion, Scramble, OrOpt
+		// OpMutacion<Integer> opMut = new OpMutacionMemetica(new OpMutacionSwapDelta(prob), new BusquedaLocalLK(prob)); // memetico
 		// operador de seleccion: (des)comentar segun el que se quiera usar
 		// OpSeleccion<Integer> opSel = new OpSelRuleta<>();
-		OpSeleccion<Integer> opSel = new OpSelRandom<>();
+		// OpSeleccion<Integer> opSel = new OpSelRuletaAlias<>(); // ruleta con tabla alias (O(1) por seleccion)
+		// OpSeleccion<Integer> opSel = new OpSelRandom<>();
+		// OpSeleccion<Integer> opSel = new OpSelRangoLineal<>(1.5);
+		// OpSeleccion<Integer> opSel = new OpSelSUS<>(); // muestreo universal estocastico (por lotes)
+		OpSeleccion<Integer> opSel = new OpSelTorneo<>(2);
 		// operador de decodificacion
 		OpDecodificacion<Integer> opDecod = new OpDecodTSP(prob);
 		// operador de reemplazo
 		OpReemplazo<Integer> opReemp = new OpReempGenElitista<>();
+		// OpReemplazo<Integer> opReemp = new OpReempElitistaK<>(5); // conserva los 5 mejores
+		// OpReemplazo<Integer> opReemp = new OpReempMuMasLambda<>(); // (mu+lambda)
 
 		// PARAMETROS
 		int maxIter = 1000; // criterio de parada
@@ -46,18 +63,39 @@ public class TesterTSP {
 
 		// ALGORITMO GENETICO
 		AlgoritmoGenetico<Integer> ga = new AlgoritmoGenetico<>(prob.getNumCiudades(), prob.getAlfabeto(), pc, pm, tamPob);
-		Individuo<Integer> cromoSol = ga.lanzaGA(opGen, maxIter, opCruce, opMut, opSel, opDecod, opReemp);
+		// evaluacion del fitness en paralelo (comentar para evaluar en un solo hilo)
+		ga.setEvaluacionParalela(Runtime.getRuntime().availableProcessors());
+		// busqueda local en paralelo sobre la poblacion inicial y los hijos (memetico por lotes)
+		// ga.setMejora(new MejoraLocalLote(new BusquedaLocalOr3Opt(prob)), true, true);
+		// perfil de tiempos por fase (descomentar, junto con el println de abajo, para medir)
+		// PerfilGA perfil = new PerfilGA();
+		// ga.addOyente(perfil);
+		// criterio de parada: maxIter generaciones, o antes si se alcanza el optimo
+		// conocido de gr17 o si el mejor no mejora en 100 generaciones
+		GoalTest<Individuo<Integer>> parada = new GoalTestCompuesto<>(
+				new GoalTestMaxIter<>(ga, maxIter),
+				new GoalTestCosteTSP(2085),
+				new GoalTestEstancamiento<>(ga, 100));
+		Individuo<Integer> cromoSol = ga.lanzaGA(opGen, parada, opCruce, opMut, opSel, opDecod, opReemp);
 		Solucion solucion = opDecod.apply(cromoSol);
 		double costeGA = ((SolucionTSP) solucion).getCoste();
 
 		System.out.println("\n=== SOLUCION ENCONTRADA POR EL GA ===");
 		System.out.println(solucion);
 		System.out.println("Coste GA: " + costeGA);
+		System.out.println("Parada tras " + ga.getIterations() + " iteraciones: " + ga.getMotivoParada());
+		// System.out.println(perfil);
 
 		// Aplicar 2-opt para comparar
 		System.out.println("\n=== APLICANDO MEJORA LOCAL 2-OPT ===");
 		BusquedaLocal2Opt busqueda2Opt = new BusquedaLocal2Opt(prob);
-		Individuo<Integer> cromoMejorado = busqueda2Opt.mejorar(cromoSol);
+		// BusquedaLocal2Opt busqueda2Opt = new BusquedaLocalOr3Opt(prob); // 2-opt + or-opt + 3-opt sin inversiones
+		// BusquedaLocal2Opt busqueda2Opt = new BusquedaLocalLK(prob); // profundidad variable (Lin-Kernighan)
+		// como mucho 1 segundo; el resultado trae tambien movimientos, ganancia y tiempo
+		ResultadoBusquedaLocal resultado2Opt = busqueda2Opt.mejorar(cromoSol, System.nanoTime() + 1_000_000_000L,
+				Integer.MAX_VALUE, null);
+		System.out.println("Busqueda local: " + resultado2Opt);
+		Individuo<Integer> cromoMejorado = resultado2Opt.getIndividuo();
 		Solucion solucionMejorada = opDecod.apply(cromoMejorado);
 		double coste2Opt = ((SolucionTSP) solucionMejorada).getCoste();
 
@@ -0,0 +1,46 @@
+package tsp;
+
+import ga.*;
+
+/**
+ * Clase TesterTSPIslas
+ * Clase para probar el GA con modelo de islas aplicado al TSP
+ * 
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+public class TesterTSPIslas {
+
+	public static void main(String[] args) {
+		ProblemaTSP prob = new ProblemaTSP("brazil58.tsp.txt");
+
+		// OPERADORES (compartidos por todas las islas)
+		OpGeneracion<Integer> opGen = new OpGenRandPerm(prob.getAlfabeto(), prob.getNumCiudades());
+		OpCruce<Integer> opCruce = new OpCruce2PuntosPerm();
+		OpMutacion<Integer> opMut = new OpMutacionSwapPerm();
+		OpDecodificacion<Integer> opDecod = new OpDecodTSP(prob);
+
+		// PARAMETROS
+		int numIslas = Runtime.getRuntime().availableProcessors(); // una isla por nucleo
+		int maxIter = 1000; // criterio de parada (generaciones de cada isla)
+		double pc = 0.9; // prob cruce
+		double pm = 0.4; // prob mutacion
+		int tamPobIsla = 10000 / numIslas; // tamanio de la poblacion de cada isla
+		int intervaloMigracion = 50; // generaciones entre migraciones
+		int numMigrantes = 5; // mejores individuos que envia cada isla
+
+		System.out.println("Parametros: islas=" + numIslas + ", maxIter=" + maxIter + ", pc=" + pc + ", pm=" + pm
+				+ ", tamPobIsla=" + tamPobIsla + ", M=" + intervaloMigracion + ", K=" + numMigrantes);
+
+		// MODELO DE ISLAS (seleccion y reemplazo: uno por isla)
+		ModeloIslas<Integer> islas = new ModeloIslas<>(numIslas, prob.getNumCiudades(), prob.getAlfabeto(), pc, pm,
+				tamPobIsla, ModeloIslas.Topologia.ANILLO, intervaloMigracion, numMigrantes);
+		Individuo<Integer> cromoSol = islas.lanzaGA(opGen, maxIter, opCruce, opMut, OpSelRandom::new, opDecod,
+				OpReempGenElitista::new);
+		Solucion solucion = opDecod.apply(cromoSol);
+
+		System.out.println("Solucion final: \n" + solucion);
+		System.out.println("Coste: " + ((SolucionTSP) solucion).getCoste());
+		System.out.println("Migraciones: " + islas.getMigraciones() + ", tiempo: " + islas.getTimeInMilliseconds() + "ms");
+	}
+}
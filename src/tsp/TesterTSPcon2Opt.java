@@ -1,6 +1,7 @@
 package tsp;
 
 import ga.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Clase TesterTSPcon2Opt
@@ -15,7 +16,9 @@ public class TesterTSPcon2Opt {
     ProblemaTSP prob = new ProblemaTSP("gr17.tsp.txt");
 
     // Instancia compartida de busqueda local 2-opt
-    BusquedaLocal2Opt busqueda2Opt = new BusquedaLocal2Opt(prob);
+    // BusquedaLocal2Opt busqueda2Opt = new BusquedaLocal2Opt(prob);
+    // 2-opt ampliada con or-opt y 3-opt sin inversiones
+    BusquedaLocal2Opt busqueda2Opt = new BusquedaLocalOr3Opt(prob);
 
     // ESTRATEGIA: Aplicar 2-opt solo a ALGUNOS individuos para mantener diversidad
     // - Generación inicial: 10% de probabilidad (mantener diversidad)
@@ -25,12 +28,19 @@ public class TesterTSPcon2Opt {
     double prob2OptCruce = 0.0; // 0% después de cruce
     double prob2OptMut = 0.0; // 0% después de mutación
 
+    // Presupuesto de cada busqueda: como mucho 1000 movimientos y 50 ms
+    busqueda2Opt.setPresupuesto(1000, 50);
+
     // OPERADORES CON 2-OPT
-    OpGeneracion<Integer> opGen = new OpGenRandNoRepCon2Opt<>(
-        prob.getAlfabeto(),
-        prob.getNumCiudades(),
-        busqueda2Opt,
-        prob2OptGen);
+    // Generacion uno a uno (la busqueda local se aplica al crear cada individuo):
+    // OpGeneracion<Integer> opGen = new OpGenRandNoRepCon2Opt<>(
+    //     prob.getAlfabeto(),
+    //     prob.getNumCiudades(),
+    //     busqueda2Opt,
+    //     prob2OptGen);
+    // Generacion sin busqueda local; la mejora de la poblacion inicial se hace
+    // despues por lotes, en paralelo (ver ga.setMejora mas abajo)
+    OpGeneracion<Integer> opGen = new OpGenRandNoRep<>(prob.getAlfabeto(), prob.getNumCiudades());
 
     // Usar operadores normales para cruce y mutación
     OpCruce<Integer> opCruce = new OpCruce1PuntoNoRep<>();
@@ -61,6 +71,11 @@ public class TesterTSPcon2Opt {
         pc,
         pm,
         tamPob);
+    // Busqueda local por lotes, repartida entre todos los hilos, sobre el
+    // prob2OptGen de la poblacion inicial (con true en el ultimo argumento se
+    // mejorarian tambien los hijos de cada generacion: GA memetico)
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    ga.setMejora(new MejoraLocalLote(busqueda2Opt, prob2OptGen, pool), true, false);
 
     Individuo<Integer> cromoSol = ga.lanzaGA(opGen, maxIter, opCruce, opMut, opSel, opDecod, opReemp);
     Solucion solucion = opDecod.apply(cromoSol);
@@ -0,0 +1,60 @@
+package tsp;
+
+/**
+ * Clase Tour
+ * Tour del TSP sobre el que trabaja la busqueda local (BusquedaLocal2Opt y sus
+ * subclases): un ciclo con todas las ciudades, incluido el origen 0, que se
+ * carga desde la ruta de un individuo y se vuelve a descargar en ella al
+ * terminar. Entre medias solo se usan las operaciones de orden (sucesor,
+ * predecesor y entre) y el movimiento 2-opt (dosOpt), al que se reducen todos
+ * los movimientos de la busqueda.
+ *
+ * Hay dos implementaciones: TourArray (array, O(1) para consultar y O(n) para
+ * invertir) y TourDosNiveles (lista doblemente enlazada en dos niveles, O(1)
+ * para consultar y O(sqrt(n)) para invertir).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+abstract class Tour {
+
+	/**
+	 * Carga el ciclo origen -> ruta -> origen
+	 * @param ruta permutacion de las ciudades 1..N (sin el origen)
+	 */
+	abstract void carga(int[] ruta);
+
+	/**
+	 * Deja en ruta el ciclo empezando despues del origen
+	 */
+	abstract void descarga(int[] ruta);
+
+	/**
+	 * @return el numero de ciudades del ciclo (con el origen)
+	 */
+	abstract int tamanio();
+
+	abstract int sucesor(int c);
+
+	abstract int predecesor(int c);
+
+	/**
+	 * @return el sucesor de c si haciaDelante, si no su predecesor
+	 */
+	int siguiente(int c, boolean haciaDelante) {
+		return (haciaDelante ? sucesor(c) : predecesor(c));
+	}
+
+	/**
+	 * @return true si b esta en el camino que va de a a c hacia delante (ambos
+	 *         incluidos)
+	 */
+	abstract boolean entre(int a, int b, int c);
+
+	/**
+	 * Movimiento 2-opt: quita las aristas (t1,t2) y (t3,t4) y pone (t1,t3) y
+	 * (t2,t4). t2 y t4 tienen que ser los sucesores de t1 y t3, o los dos sus
+	 * predecesores.
+	 */
+	abstract void dosOpt(int t1, int t2, int t3, int t4);
+}
@@ -0,0 +1,108 @@
+package tsp;
+
+/**
+ * Clase TourArray
+ * Tour del TSP para la busqueda local: array ciclico con todas las ciudades
+ * (incluido el origen 0) y el indice ciudad -> posicion, de forma que sucesor y
+ * predecesor cuestan O(1). Los movimientos se expresan como movimientos 2-opt
+ * dados por sus aristas, asi que no importa en que sentido se recorra el ciclo;
+ * cada inversion se hace sobre el lado mas corto, O(n/2) como mucho. Para
+ * tours grandes es mejor TourDosNiveles.
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+class TourArray extends Tour {
+	private int[] tour = new int[0]; // ciudad en cada posicion del ciclo
+	private int[] pos = new int[0]; // posicion de cada ciudad
+	private int tam; // numero de ciudades del ciclo (con el origen)
+
+	@Override
+	void carga(int[] ruta) {
+		tam = ruta.length + 1;
+		if (tour.length < tam) {
+			tour = new int[tam];
+			pos = new int[tam];
+		}
+		tour[0] = 0;
+		pos[0] = 0;
+		for (int k = 0; k < ruta.length; k++) {
+			tour[k + 1] = ruta[k];
+			pos[ruta[k]] = k + 1;
+		}
+	}
+
+	@Override
+	void descarga(int[] ruta) {
+		int p = pos[0];
+		for (int k = 0; k < ruta.length; k++) {
+			if (++p == tam) {
+				p = 0;
+			}
+			ruta[k] = tour[p];
+		}
+	}
+
+	@Override
+	int tamanio() {
+		return tam;
+	}
+
+	@Override
+	int sucesor(int c) {
+		int p = pos[c] + 1;
+		return tour[p == tam ? 0 : p];
+	}
+
+	@Override
+	int predecesor(int c) {
+		int p = pos[c];
+		return tour[p == 0 ? tam - 1 : p - 1];
+	}
+
+	@Override
+	boolean entre(int a, int b, int c) {
+		int pa = pos[a], pb = pos[b], pc = pos[c];
+		return (pa <= pc ? pa <= pb && pb <= pc : pb >= pa || pb <= pc);
+	}
+
+	@Override
+	void dosOpt(int t1, int t2, int t3, int t4) {
+		if (sucesor(t1) == t2) {
+			invierte(pos[t2], pos[t3]); // t1 t2 ... t3 t4 -> t1 t3 ... t2 t4
+		} else {
+			invierte(pos[t1], pos[t4]); // t2 t1 ... t4 t3 -> t2 t4 ... t1 t3
+		}
+	}
+
+	/**
+	 * Invierte el tramo del ciclo que va de la posicion p a la q (hacia delante).
+	 * Si es mas de la mitad del ciclo invierte el resto, que da el mismo ciclo
+	 * recorrido al reves
+	 */
+	private void invierte(int p, int q) {
+		int lon = q - p + 1;
+		if (lon <= 0) {
+			lon += tam;
+		}
+		if (2 * lon > tam) {
+			int aux = p;
+			p = (q + 1 == tam ? 0 : q + 1);
+			q = (aux == 0 ? tam - 1 : aux - 1);
+			lon = tam - lon;
+		}
+		for (int s = lon / 2; s > 0; s--) {
+			int ci = tour[p], cj = tour[q];
+			tour[p] = cj;
+			pos[cj] = p;
+			tour[q] = ci;
+			pos[ci] = q;
+			if (++p == tam) {
+				p = 0;
+			}
+			if (--q < 0) {
+				q = tam - 1;
+			}
+		}
+	}
+}
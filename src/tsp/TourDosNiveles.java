@@ -0,0 +1,361 @@
+package tsp;
+
+/**
+ * Clase TourDosNiveles
+ * Tour del TSP como lista doblemente enlazada en dos niveles (Fredman et al.,
+ * 1995): las ciudades se agrupan en tramos consecutivos de unas sqrt(n)
+ * ciudades, enlazadas entre si dentro de cada tramo, y los tramos forman a su
+ * vez una lista doblemente enlazada en el orden del tour. Cada tramo tiene un
+ * bit de inversion, asi que invertir un tramo entero cuesta O(1) y no hay que
+ * tocar sus ciudades.
+ * <ul>
+ * <li>sucesor y predecesor: O(1) (el enlace de la ciudad, o el extremo del
+ * tramo vecino si la ciudad es la ultima o la primera del suyo)</li>
+ * <li>entre: O(1), comparando el numero de orden de los tramos y el de las
+ * ciudades dentro de cada tramo</li>
+ * <li>dosOpt: se parten como mucho dos tramos para que el camino a invertir
+ * este formado por tramos enteros (pasando la parte mas corta de cada uno al
+ * tramo vecino, o a un tramo nuevo si el vecino ya es muy largo) y se
+ * invierte el orden de esos tramos, cambiando su bit. Se invierte el lado del
+ * ciclo con menos tramos: O(sqrt(n))</li>
+ * </ul>
+ * Si a base de crear tramos nuevos llega a haber el doble de los previstos,
+ * se reconstruyen todos con el tamanio inicial (O(n), pero muy de vez en
+ * cuando).
+ *
+ * @author Ian Saucedo
+ * @version 2025.11
+ */
+class TourDosNiveles extends Tour {
+	// los numeros de orden dentro de un tramo pueden desplazarse al aniadirle
+	// ciudades por los extremos; al pasar de aqui se renumera el tramo
+	private static final int MAX_NUM = 1 << 30;
+
+	private int tam; // numero de ciudades del ciclo (con el origen)
+	private int tamTramo; // numero de ciudades de cada tramo al reconstruir
+	private int maxTramos; // al pasar de aqui se reconstruyen los tramos
+
+	// nivel inferior: ciudades (enlaces en el orden interno de su tramo)
+	private int[] sig = new int[0], ant = new int[0]; // siguiente y anterior en el orden interno (-1 en los extremos)
+	private int[] num = new int[0]; // numero de orden en el tramo (creciente en el orden interno)
+	private int[] tramo = new int[0]; // tramo de cada ciudad
+
+	// nivel superior: tramos (enlaces en el orden del tour)
+	private int numTramos;
+	private int[] sigTramo = new int[0], antTramo = new int[0];
+	private int[] primera = new int[0], ultima = new int[0]; // extremos en el orden interno
+	private int[] longitud = new int[0]; // numero de ciudades de cada tramo
+	private int[] orden = new int[0]; // numero de orden del tramo en el ciclo (0..numTramos-1)
+	private boolean[] invertido = new boolean[0]; // si el tour recorre el tramo al reves
+	private int[] camino = new int[0]; // tramos del camino que se invierte
+	private int[] ciclo = new int[0]; // orden del ciclo al (re)construir los tramos
+
+	@Override
+	void carga(int[] ruta) {
+		tam = ruta.length + 1;
+		if (sig.length < tam) {
+			sig = new int[tam];
+			ant = new int[tam];
+			num = new int[tam];
+			tramo = new int[tam];
+			ciclo = new int[tam];
+		}
+		tamTramo = Math.max(4, (int) Math.sqrt(tam));
+		int tramosIniciales = (tam + tamTramo - 1) / tamTramo;
+		maxTramos = 2 * tramosIniciales + 4;
+		if (sigTramo.length < maxTramos + 2) {
+			int m = maxTramos + 2; // cada movimiento crea como mucho dos tramos
+			sigTramo = new int[m];
+			antTramo = new int[m];
+			primera = new int[m];
+			ultima = new int[m];
+			longitud = new int[m];
+			orden = new int[m];
+			invertido = new boolean[m];
+			camino = new int[m];
+		}
+		ciclo[0] = 0;
+		System.arraycopy(ruta, 0, ciclo, 1, ruta.length);
+		construyeTramos();
+	}
+
+	@Override
+	void descarga(int[] ruta) {
+		int c = 0;
+		for (int k = 0; k < ruta.length; k++) {
+			c = sucesor(c);
+			ruta[k] = c;
+		}
+	}
+
+	@Override
+	int tamanio() {
+		return tam;
+	}
+
+	@Override
+	int sucesor(int c) {
+		int t = tramo[c];
+		if (invertido[t]) {
+			return (c == primera[t] ? inicio(sigTramo[t]) : ant[c]);
+		}
+		return (c == ultima[t] ? inicio(sigTramo[t]) : sig[c]);
+	}
+
+	@Override
+	int predecesor(int c) {
+		int t = tramo[c];
+		if (invertido[t]) {
+			return (c == ultima[t] ? fin(antTramo[t]) : sig[c]);
+		}
+		return (c == primera[t] ? fin(antTramo[t]) : ant[c]);
+	}
+
+	@Override
+	boolean entre(int a, int b, int c) {
+		return (antes(a, c) ? antes(a, b) && antes(b, c) : antes(a, b) || antes(b, c));
+	}
+
+	@Override
+	void dosOpt(int t1, int t2, int t3, int t4) {
+		if (sucesor(t1) == t2) {
+			invierte(t2, t3); // t1 t2 ... t3 t4 -> t1 t3 ... t2 t4
+		} else {
+			invierte(t1, t4); // t2 t1 ... t4 t3 -> t2 t4 ... t1 t3
+		}
+	}
+
+	/**
+	 * @return la primera ciudad del tramo t en el orden del tour
+	 */
+	private int inicio(int t) {
+		return (invertido[t] ? ultima[t] : primera[t]);
+	}
+
+	/**
+	 * @return la ultima ciudad del tramo t en el orden del tour
+	 */
+	private int fin(int t) {
+		return (invertido[t] ? primera[t] : ultima[t]);
+	}
+
+	/**
+	 * @return true si a no va despues de b al recorrer el ciclo desde el
+	 *         principio del tramo de orden 0
+	 */
+	private boolean antes(int a, int b) {
+		int ta = tramo[a], tb = tramo[b];
+		if (ta != tb) {
+			return orden[ta] < orden[tb];
+		}
+		return (invertido[ta] ? num[a] >= num[b] : num[a] <= num[b]);
+	}
+
+	/**
+	 * Invierte el camino que va de b a c hacia delante, o el resto del ciclo (de
+	 * sucesor(c) a predecesor(b)), que da el mismo ciclo, si tiene menos tramos
+	 */
+	private void invierte(int b, int c) {
+		int tramosCamino = orden[tramo[c]] - orden[tramo[b]];
+		if (tramosCamino < 0) {
+			tramosCamino += numTramos;
+		}
+		if (2 * tramosCamino > numTramos) {
+			int aux = b;
+			b = sucesor(c);
+			c = predecesor(aux);
+		}
+		// el camino pasa a ser una sucesion de tramos enteros, de tb a tc
+		parteAntes(b, -1);
+		int e = sucesor(c);
+		parteAntes(e, tramo[b]);
+		int tb = tramo[b], tc = antTramo[tramo[e]];
+		int k = 0;
+		for (int t = tb;; t = sigTramo[t]) {
+			camino[k++] = t;
+			if (t == tc) {
+				break;
+			}
+		}
+		// se enlazan al reves entre sus vecinos de fuera, cambiando su bit
+		int antes = antTramo[tb], despues = sigTramo[tc];
+		int ord = orden[tb];
+		for (int i = k - 1, prev = antes; i >= 0; i--) {
+			int t = camino[i];
+			invertido[t] = !invertido[t];
+			antTramo[t] = prev;
+			sigTramo[prev] = t;
+			orden[t] = ord;
+			ord = (ord + 1 == numTramos ? 0 : ord + 1);
+			prev = t;
+		}
+		sigTramo[camino[0]] = despues;
+		antTramo[despues] = camino[0];
+		if (numTramos > maxTramos) {
+			for (int i = 0, z = 0; i < tam; i++, z = sucesor(z)) {
+				ciclo[i] = z;
+			}
+			construyeTramos();
+		}
+	}
+
+	/**
+	 * Parte el tramo de c para que c sea la primera ciudad (en el orden del tour)
+	 * de un tramo. La parte mas corta pasa al tramo vecino por ese lado si cabe
+	 * (y si no es el tramo fijo, cuya primera ciudad no debe cambiar), o si no a
+	 * un tramo nuevo, sin cambiar su orden interno ni su bit de inversion.
+	 */
+	private void parteAntes(int c, int fijo) {
+		int t = tramo[c];
+		if (c == inicio(t)) {
+			return;
+		}
+		// corte en el orden interno, entre x e y = sig[x]
+		int x = (invertido[t] ? c : ant[c]);
+		int y = sig[x];
+		int izquierda = num[x] - num[primera[t]] + 1, derecha = longitud[t] - izquierda;
+		boolean izquierdaCorta = (izquierda <= derecha);
+		int mueve = (izquierdaCorta ? izquierda : derecha);
+		// en el orden del tour la parte que se mueve va delante si es la interna
+		// izquierda y el tramo no esta invertido (o la derecha y lo esta)
+		boolean delante = (izquierdaCorta != invertido[t]);
+		int vecino = (delante ? antTramo[t] : sigTramo[t]);
+		boolean aVecino = (vecino != t && longitud[vecino] + mueve <= 2 * tamTramo
+				&& (delante ? t != fijo : vecino != fijo));
+		int desde, hasta;
+		if (izquierdaCorta) { // primera[t]..x
+			desde = primera[t];
+			hasta = x;
+			primera[t] = y;
+		} else { // y..ultima[t]
+			desde = y;
+			hasta = ultima[t];
+			ultima[t] = x;
+		}
+		sig[x] = -1;
+		ant[y] = -1;
+		longitud[t] -= mueve;
+		if (aVecino) {
+			// la parte se pega al final (en el orden del tour) del tramo anterior o al
+			// principio del siguiente, empezando por la ciudad mas proxima a el
+			boolean haciaDelante = (delante != invertido[t]); // recorrido interno de la parte
+			for (int z = (haciaDelante ? desde : hasta), k = 0; k < mueve; k++) {
+				int siguiente = (haciaDelante ? sig[z] : ant[z]);
+				if (delante != invertido[vecino]) {
+					alFinal(vecino, z);
+				} else {
+					alPrincipio(vecino, z);
+				}
+				z = siguiente;
+			}
+			if (Math.abs(num[primera[vecino]]) > MAX_NUM || Math.abs(num[ultima[vecino]]) > MAX_NUM) {
+				numeraCiudades(vecino);
+			}
+			return;
+		}
+		int nuevo = numTramos++;
+		invertido[nuevo] = invertido[t];
+		primera[nuevo] = desde;
+		ultima[nuevo] = hasta;
+		longitud[nuevo] = mueve;
+		for (int z = desde;; z = sig[z]) {
+			tramo[z] = nuevo;
+			if (z == hasta) {
+				break;
+			}
+		}
+		if (delante) {
+			int a = antTramo[t];
+			sigTramo[a] = nuevo;
+			antTramo[nuevo] = a;
+			sigTramo[nuevo] = t;
+			antTramo[t] = nuevo;
+		} else {
+			int d = sigTramo[t];
+			sigTramo[t] = nuevo;
+			antTramo[nuevo] = t;
+			sigTramo[nuevo] = d;
+			antTramo[d] = nuevo;
+		}
+		numera(nuevo);
+	}
+
+	/**
+	 * Pone z al final del orden interno del tramo t
+	 */
+	private void alFinal(int t, int z) {
+		int u = ultima[t];
+		num[z] = num[u] + 1;
+		sig[u] = z;
+		ant[z] = u;
+		sig[z] = -1;
+		ultima[t] = z;
+		tramo[z] = t;
+		longitud[t]++;
+	}
+
+	/**
+	 * Pone z al principio del orden interno del tramo t
+	 */
+	private void alPrincipio(int t, int z) {
+		int p = primera[t];
+		num[z] = num[p] - 1;
+		ant[p] = z;
+		sig[z] = p;
+		ant[z] = -1;
+		primera[t] = z;
+		tramo[z] = t;
+		longitud[t]++;
+	}
+
+	/**
+	 * Vuelve a numerar las ciudades del tramo t en su orden interno
+	 */
+	private void numeraCiudades(int t) {
+		int k = 0;
+		for (int z = primera[t]; z >= 0; z = sig[z]) {
+			num[z] = k++;
+		}
+	}
+
+	/**
+	 * Vuelve a numerar los tramos en el orden del tour empezando por t
+	 */
+	private void numera(int t) {
+		for (int k = 0; k < numTramos; k++, t = sigTramo[t]) {
+			orden[t] = k;
+		}
+	}
+
+	/**
+	 * Reconstruye los tramos, todos sin invertir y de tamTramo ciudades (el
+	 * ultimo puede ser mas corto), a partir del orden del ciclo guardado en ciclo
+	 */
+	private void construyeTramos() {
+		numTramos = 0;
+		int t = -1;
+		for (int k = 0; k < tam; k++) {
+			int z = ciclo[k];
+			if (k % tamTramo == 0) {
+				t = numTramos++;
+				primera[t] = z;
+				invertido[t] = false;
+				orden[t] = t;
+				longitud[t] = 0;
+				ant[z] = -1;
+			} else {
+				ant[z] = ciclo[k - 1];
+				sig[ciclo[k - 1]] = z;
+			}
+			tramo[z] = t;
+			num[z] = k % tamTramo;
+			longitud[t]++;
+			ultima[t] = z;
+		}
+		for (t = 0; t < numTramos; t++) {
+			sig[ultima[t]] = -1;
+			sigTramo[t] = (t + 1 == numTramos ? 0 : t + 1);
+			antTramo[t] = (t == 0 ? numTramos - 1 : t - 1);
+		}
+	}
+}